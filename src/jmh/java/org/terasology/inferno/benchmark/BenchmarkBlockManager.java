@@ -0,0 +1,106 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.inferno.benchmark;
+
+import org.terasology.engine.context.internal.ContextImpl;
+import org.terasology.engine.registry.CoreRegistry;
+import org.terasology.engine.world.block.Block;
+import org.terasology.engine.world.block.BlockManager;
+import org.terasology.engine.world.block.BlockUri;
+import org.terasology.engine.world.block.family.BlockFamily;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Block manager without assets: every requested uri gets a bare {@link Block} with the next free id, and air keeps id 0
+ * so freshly created chunks read back as air.
+ */
+public class BenchmarkBlockManager extends BlockManager {
+    private final List<Block> blocksById = new ArrayList<>();
+    private final Map<String, Block> blocksByUri = new HashMap<>();
+
+    public BenchmarkBlockManager() {
+        Block air = new Block();
+        air.setUri(AIR_ID);
+        register(AIR_ID.toString(), air);
+    }
+
+    /**
+     * Makes a fresh block manager available through {@link CoreRegistry}, which is where the rasterizers look it up.
+     */
+    public static BenchmarkBlockManager install() {
+        BenchmarkBlockManager blockManager = new BenchmarkBlockManager();
+        ContextImpl context = new ContextImpl();
+        context.put(BlockManager.class, blockManager);
+        CoreRegistry.setContext(context);
+        return blockManager;
+    }
+
+    private void register(String uri, Block block) {
+        block.setId((short) blocksById.size());
+        blocksById.add(block);
+        blocksByUri.put(uri, block);
+    }
+
+    @Override
+    public synchronized Block getBlock(String uri) {
+        Block block = blocksByUri.get(uri);
+        if (block == null) {
+            block = new Block();
+            block.setUri(new BlockUri(uri));
+            register(uri, block);
+        }
+        return block;
+    }
+
+    @Override
+    public Block getBlock(BlockUri uri) {
+        return getBlock(uri.toString());
+    }
+
+    @Override
+    public synchronized Block getBlock(short id) {
+        return blocksById.get(id);
+    }
+
+    @Override
+    public BlockFamily getBlockFamily(String uri) {
+        return null;
+    }
+
+    @Override
+    public BlockFamily getBlockFamily(BlockUri uri) {
+        return null;
+    }
+
+    @Override
+    public synchronized Map<String, Short> getBlockIdMap() {
+        return blocksByUri.entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().getId()));
+    }
+
+    @Override
+    public synchronized Collection<BlockUri> listRegisteredBlockUris() {
+        return blocksById.stream().map(Block::getURI).collect(Collectors.toList());
+    }
+
+    @Override
+    public Collection<BlockFamily> listRegisteredBlockFamilies() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public int getBlockFamilyCount() {
+        return 0;
+    }
+
+    @Override
+    public synchronized Collection<Block> listRegisteredBlocks() {
+        return new ArrayList<>(blocksById);
+    }
+}
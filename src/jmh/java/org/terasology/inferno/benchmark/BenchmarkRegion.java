@@ -0,0 +1,54 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.inferno.benchmark;
+
+import org.terasology.engine.world.block.BlockRegion;
+import org.terasology.engine.world.generation.Border3D;
+import org.terasology.engine.world.generation.GeneratingRegion;
+import org.terasology.engine.world.generation.Region;
+import org.terasology.engine.world.generation.WorldFacet;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Minimal stand-in for the engine's generating region: holds the facets of one region and hands out the borders
+ * resolved by {@link InfernoPipeline}. Once generated it also serves as the region handed to the rasterizers.
+ */
+public class BenchmarkRegion implements GeneratingRegion, Region {
+    private static final Border3D NO_BORDER = new Border3D(0, 0, 0);
+
+    private final BlockRegion region;
+    private final Map<Class<? extends WorldFacet>, Border3D> borders;
+    private final Map<Class<? extends WorldFacet>, WorldFacet> facets = new HashMap<>();
+
+    public BenchmarkRegion(BlockRegion region, Map<Class<? extends WorldFacet>, Border3D> borders) {
+        this.region = region;
+        this.borders = borders;
+    }
+
+    @Override
+    public BlockRegion getRegion() {
+        return region;
+    }
+
+    @Override
+    public <T extends WorldFacet> T getRegionFacet(Class<T> type) {
+        return type.cast(facets.get(type));
+    }
+
+    @Override
+    public <T extends WorldFacet> T getFacet(Class<T> dataType) {
+        return getRegionFacet(dataType);
+    }
+
+    @Override
+    public <T extends WorldFacet> void setRegionFacet(Class<T> type, T facet) {
+        facets.put(type, facet);
+    }
+
+    @Override
+    public Border3D getBorderForFacet(Class<? extends WorldFacet> type) {
+        return borders.getOrDefault(type, NO_BORDER);
+    }
+}
@@ -0,0 +1,134 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.inferno.benchmark;
+
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+import org.terasology.engine.world.chunks.Chunk;
+import org.terasology.engine.world.chunks.Chunks;
+import org.terasology.engine.world.chunks.blockdata.ExtraBlockDataManager;
+import org.terasology.engine.world.chunks.internal.ChunkImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Generates the same Inferno chunks on 1, 2, 4 and all available threads, with one provider and rasterizer instance
+ * shared by every thread as in the engine, and reports the throughput of each thread count.
+ * <p>
+ * Every chunk is hashed block by block. A reference hash is taken single-threaded before the measured runs, and any
+ * later run that produces a different hash for a chunk fails the harness with an {@link IllegalStateException}.
+ * <p>
+ * Arguments, all optional: the number of chunk columns along x and z (default 8), and the number of measured rounds
+ * per thread count (default 3). Two layers are generated per column: the surface layer and the one above it.
+ * <p>
+ * {@code ConcurrentGenerationHarnessTest} runs the same comparison on a few chunks as part of the tests.
+ */
+public final class ConcurrentGenerationHarness {
+    private static final int DEFAULT_COLUMNS = 8;
+    private static final int DEFAULT_ROUNDS = 3;
+
+    private final InfernoPipeline pipeline;
+    private final BenchmarkBlockManager blockManager;
+    private final List<Vector3ic> chunkPositions = new ArrayList<>();
+
+    ConcurrentGenerationHarness(int columns) {
+        blockManager = BenchmarkBlockManager.install();
+        pipeline = new InfernoPipeline(FacetProviderBenchmark.SEED);
+        pipeline.initializeRasterizers();
+        for (int x = 0; x < columns; x++) {
+            for (int z = 0; z < columns; z++) {
+                chunkPositions.add(new Vector3i(x, InfernoPipeline.SURFACE_CHUNK_Y, z));
+                chunkPositions.add(new Vector3i(x, InfernoPipeline.SURFACE_CHUNK_Y + 1, z));
+            }
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException, ExecutionException {
+        int columns = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_COLUMNS;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ROUNDS;
+
+        Set<Integer> threadCounts = new TreeSet<>();
+        threadCounts.add(1);
+        threadCounts.add(2);
+        threadCounts.add(4);
+        threadCounts.add(Runtime.getRuntime().availableProcessors());
+
+        ConcurrentGenerationHarness harness = new ConcurrentGenerationHarness(columns);
+        long[] reference = harness.generateAll(1);
+        System.out.printf("%d chunks, %d measured rounds per thread count%n", reference.length, rounds);
+        System.out.printf("%8s %12s %10s%n", "threads", "chunks/s", "speedup");
+
+        double singleThreaded = 0;
+        for (int threads : threadCounts) {
+            // warm-up round, checked like the measured ones
+            harness.verify(harness.generateAll(threads), reference, threads);
+            long start = System.nanoTime();
+            for (int round = 0; round < rounds; round++) {
+                harness.verify(harness.generateAll(threads), reference, threads);
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            double throughput = rounds * reference.length / seconds;
+            if (threads == 1) {
+                singleThreaded = throughput;
+            }
+            System.out.printf("%8d %12.1f %9.2fx%n", threads, throughput, throughput / singleThreaded);
+        }
+    }
+
+    /**
+     * Generates and rasterizes every chunk on a pool of the given size.
+     *
+     * @return the block hash of each chunk, in the order of {@link #chunkPositions}
+     */
+    long[] generateAll(int threads) throws InterruptedException, ExecutionException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Long>> futures = new ArrayList<>(chunkPositions.size());
+            for (Vector3ic chunkPos : chunkPositions) {
+                futures.add(executor.submit(() -> generate(chunkPos)));
+            }
+            long[] hashes = new long[futures.size()];
+            for (int i = 0; i < hashes.length; i++) {
+                hashes[i] = futures.get(i).get();
+            }
+            return hashes;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private long generate(Vector3ic chunkPos) {
+        BenchmarkRegion region = pipeline.generate(InfernoPipeline.chunkRegion(chunkPos.x(), chunkPos.y(), chunkPos.z()));
+        Chunk chunk = new ChunkImpl(chunkPos, blockManager, new ExtraBlockDataManager());
+        pipeline.rasterize(chunk, region);
+        return hash(chunk);
+    }
+
+    private static long hash(Chunk chunk) {
+        long hash = 1;
+        for (int y = 0; y < Chunks.SIZE_Y; y++) {
+            for (int z = 0; z < Chunks.SIZE_Z; z++) {
+                for (int x = 0; x < Chunks.SIZE_X; x++) {
+                    hash = hash * 31 + chunk.getBlock(x, y, z).getId();
+                }
+            }
+        }
+        return hash;
+    }
+
+    private void verify(long[] hashes, long[] reference, int threads) {
+        for (int i = 0; i < reference.length; i++) {
+            if (hashes[i] != reference[i]) {
+                throw new IllegalStateException(String.format("Chunk %s differs on %d threads: hash %016x, expected %016x",
+                        chunkPositions.get(i), threads, hashes[i], reference[i]));
+            }
+        }
+    }
+}
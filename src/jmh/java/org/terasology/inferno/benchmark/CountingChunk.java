@@ -0,0 +1,39 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.inferno.benchmark;
+
+import org.joml.Vector3ic;
+import org.terasology.engine.world.block.Block;
+import org.terasology.engine.world.block.BlockManager;
+import org.terasology.engine.world.chunks.blockdata.ExtraBlockDataManager;
+import org.terasology.engine.world.chunks.internal.ChunkImpl;
+
+/**
+ * In-memory chunk that counts how often a rasterizer writes to it. Nothing is meshed, lit or stored.
+ */
+public class CountingChunk extends ChunkImpl {
+    private long setBlockCalls;
+
+    public CountingChunk(Vector3ic chunkPos, BlockManager blockManager) {
+        super(chunkPos, blockManager, new ExtraBlockDataManager());
+    }
+
+    @Override
+    public Block setBlock(int x, int y, int z, Block block) {
+        setBlockCalls++;
+        return super.setBlock(x, y, z, block);
+    }
+
+    @Override
+    public Block setBlock(Vector3ic pos, Block block) {
+        return setBlock(pos.x(), pos.y(), pos.z(), block);
+    }
+
+    public long getSetBlockCalls() {
+        return setBlockCalls;
+    }
+
+    public void resetSetBlockCalls() {
+        setBlockCalls = 0;
+    }
+}
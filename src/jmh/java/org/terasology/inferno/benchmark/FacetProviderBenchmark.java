@@ -0,0 +1,103 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.inferno.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.terasology.engine.world.generation.FacetProvider;
+import org.terasology.engine.world.generation.WorldFacet;
+import org.terasology.inferno.generator.facets.CaveFacet;
+import org.terasology.inferno.generator.facets.FloraFacet;
+import org.terasology.inferno.generator.facets.InfernalTreeFacet;
+import org.terasology.inferno.generator.facets.LavaFallsFacet;
+import org.terasology.inferno.generator.facets.LavaHutFacet;
+import org.terasology.inferno.generator.providers.CaveFacetProvider;
+import org.terasology.inferno.generator.providers.FloraProvider;
+import org.terasology.inferno.generator.providers.InfernalTreeProvider;
+import org.terasology.inferno.generator.providers.LavaFallsProvider;
+import org.terasology.inferno.generator.providers.LavaHutProvider;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one chunk for each Inferno facet provider. One operation is one {@code process} call over a single chunk
+ * region, so the average time is ns/chunk and, with the GC profiler, {@code gc.alloc.rate.norm} is bytes/chunk.
+ * <p>
+ * Every facet the measured provider requires is generated once during setup, so only the provider itself is timed.
+ * The heightfield providers cache their results per column, so they are measured by {@link HeightFieldBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FacetProviderBenchmark {
+    public static final long SEED = 0xDEADBEEFL;
+
+    /**
+     * The surface chunk layer and the one above it, which is mostly ceiling stone.
+     */
+    @Param({"0", "1"})
+    public int layerAboveSurface;
+
+    private InfernoPipeline pipeline;
+    private BenchmarkRegion region;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        pipeline = new InfernoPipeline(SEED);
+        region = pipeline.generate(InfernoPipeline.chunkRegion(0, InfernoPipeline.SURFACE_CHUNK_Y + layerAboveSurface, 0));
+    }
+
+    @Benchmark
+    public CaveFacet caves() {
+        return run(CaveFacetProvider.class, CaveFacet.class);
+    }
+
+    @Benchmark
+    public LavaHutFacet lavaHuts() {
+        return run(LavaHutProvider.class, LavaHutFacet.class);
+    }
+
+    @Benchmark
+    public InfernalTreeFacet infernalTrees() {
+        return run(InfernalTreeProvider.class, InfernalTreeFacet.class);
+    }
+
+    @Benchmark
+    public LavaFallsFacet lavaFalls() {
+        return run(LavaFallsProvider.class, LavaFallsFacet.class);
+    }
+
+    @Benchmark
+    public FloraFacet flora() {
+        return run(FloraProvider.class, FloraFacet.class);
+    }
+
+    private <T extends WorldFacet> T run(Class<? extends FacetProvider> providerType, Class<T> facetType) {
+        pipeline.getProvider(providerType).process(region);
+        return region.getRegionFacet(facetType);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(FacetProviderBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
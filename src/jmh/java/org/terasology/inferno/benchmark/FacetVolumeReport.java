@@ -0,0 +1,54 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.inferno.benchmark;
+
+import org.terasology.engine.world.block.BlockAreac;
+import org.terasology.engine.world.block.BlockRegionc;
+import org.terasology.engine.world.chunks.Chunks;
+import org.terasology.engine.world.generation.FacetProvider;
+import org.terasology.engine.world.generation.Produces;
+import org.terasology.engine.world.generation.WorldFacet;
+import org.terasology.engine.world.generation.WorldFacet2D;
+import org.terasology.engine.world.generation.WorldFacet3D;
+
+/**
+ * Prints how large a region every Inferno facet covers for one chunk, after the borders requested by consumers and the
+ * providers' own extensions. 2D facets are measured in columns, 3D facets in blocks, each also as a multiple of the
+ * chunk itself.
+ */
+public final class FacetVolumeReport {
+    private static final long CHUNK_COLUMNS = (long) Chunks.SIZE_X * Chunks.SIZE_Z;
+    private static final long CHUNK_VOLUME = CHUNK_COLUMNS * Chunks.SIZE_Y;
+
+    private FacetVolumeReport() {
+    }
+
+    public static void main(String[] args) {
+        InfernoPipeline pipeline = new InfernoPipeline(FacetProviderBenchmark.SEED);
+        BenchmarkRegion region = pipeline.generate(InfernoPipeline.chunkRegion(0, InfernoPipeline.SURFACE_CHUNK_Y, 0));
+
+        System.out.printf("%-24s %-28s %17s %8s%n", "provider", "facet", "size", "chunks");
+        for (FacetProvider provider : pipeline.getProviders()) {
+            Produces produces = provider.getClass().getAnnotation(Produces.class);
+            if (produces == null) {
+                continue;
+            }
+            for (Class<? extends WorldFacet> facetType : produces.value()) {
+                WorldFacet facet = region.getRegionFacet(facetType);
+                if (facet instanceof WorldFacet3D) {
+                    BlockRegionc worldRegion = ((WorldFacet3D) facet).getWorldRegion();
+                    long volume = (long) worldRegion.getSizeX() * worldRegion.getSizeY() * worldRegion.getSizeZ();
+                    print(provider, facetType, volume + " blocks", (double) volume / CHUNK_VOLUME);
+                } else if (facet instanceof WorldFacet2D) {
+                    BlockAreac worldArea = ((WorldFacet2D) facet).getWorldArea();
+                    long columns = (long) worldArea.getSizeX() * worldArea.getSizeY();
+                    print(provider, facetType, columns + " columns", (double) columns / CHUNK_COLUMNS);
+                }
+            }
+        }
+    }
+
+    private static void print(FacetProvider provider, Class<? extends WorldFacet> facetType, String size, double chunks) {
+        System.out.printf("%-24s %-28s %17s %7.2fx%n", provider.getClass().getSimpleName(), facetType.getSimpleName(), size, chunks);
+    }
+}
@@ -0,0 +1,96 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.inferno.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.terasology.inferno.generator.facets.InfernoCeilingHeightFacet;
+import org.terasology.inferno.generator.facets.InfernoSurfaceHeightFacet;
+import org.terasology.inferno.generator.providers.ElevationProvider;
+import org.terasology.inferno.generator.providers.InfernoCeilingProvider;
+import org.terasology.inferno.generator.providers.InfernoSurfaceProvider;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one chunk for the heightfield providers, which cache their noise per chunk column. With {@code cache=cold}
+ * the caches are cleared before every invocation, so the noise is evaluated as for the first chunk of a column; with
+ * {@code cache=warm} every invocation is a cache hit, as for the chunks stacked above it.
+ * <p>
+ * The elevation provider adds onto the surface facet, so every invocation starts from a fresh surface facet. Setting
+ * up each invocation costs a little accuracy on the warm runs, which take only microseconds.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HeightFieldBenchmark {
+    @Param({"cold", "warm"})
+    public String cache;
+
+    private InfernoPipeline pipeline;
+    private BenchmarkRegion region;
+    private InfernoSurfaceProvider surfaceProvider;
+    private ElevationProvider elevationProvider;
+    private InfernoCeilingProvider ceilingProvider;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        pipeline = new InfernoPipeline(FacetProviderBenchmark.SEED);
+        region = pipeline.generate(InfernoPipeline.chunkRegion(0, InfernoPipeline.SURFACE_CHUNK_Y, 0));
+        surfaceProvider = pipeline.getProvider(InfernoSurfaceProvider.class);
+        elevationProvider = pipeline.getProvider(ElevationProvider.class);
+        ceilingProvider = pipeline.getProvider(InfernoCeilingProvider.class);
+    }
+
+    @Setup(Level.Invocation)
+    public void prepareInvocation() {
+        surfaceProvider.process(region);
+        if ("cold".equals(cache)) {
+            surfaceProvider.getHeightCache().clear();
+            elevationProvider.getElevationCache().clear();
+            ceilingProvider.getHeightCache().clear();
+        }
+    }
+
+    @Benchmark
+    public InfernoSurfaceHeightFacet surface() {
+        surfaceProvider.process(region);
+        return region.getRegionFacet(InfernoSurfaceHeightFacet.class);
+    }
+
+    @Benchmark
+    public InfernoSurfaceHeightFacet elevation() {
+        elevationProvider.process(region);
+        return region.getRegionFacet(InfernoSurfaceHeightFacet.class);
+    }
+
+    @Benchmark
+    public InfernoCeilingHeightFacet ceiling() {
+        ceilingProvider.process(region);
+        return region.getRegionFacet(InfernoCeilingHeightFacet.class);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(HeightFieldBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
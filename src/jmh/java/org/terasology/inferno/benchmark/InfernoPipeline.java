@@ -0,0 +1,167 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.inferno.benchmark;
+
+import org.terasology.engine.world.block.BlockRegion;
+import org.terasology.engine.world.chunks.Chunk;
+import org.terasology.engine.world.chunks.Chunks;
+import org.terasology.engine.world.generation.Border3D;
+import org.terasology.engine.world.generation.Facet;
+import org.terasology.engine.world.generation.FacetBorder;
+import org.terasology.engine.world.generation.FacetProvider;
+import org.terasology.engine.world.generation.Produces;
+import org.terasology.engine.world.generation.Region;
+import org.terasology.engine.world.generation.Requires;
+import org.terasology.engine.world.generation.Updates;
+import org.terasology.engine.world.generation.WorldFacet;
+import org.terasology.engine.world.generation.WorldRasterizer;
+import org.terasology.inferno.generator.providers.CaveFacetProvider;
+import org.terasology.inferno.generator.providers.ElevationProvider;
+import org.terasology.inferno.generator.providers.FloraProvider;
+import org.terasology.inferno.generator.providers.InfernalTreeProvider;
+import org.terasology.inferno.generator.providers.InfernoCeilingProvider;
+import org.terasology.inferno.generator.providers.InfernoSurfaceProvider;
+import org.terasology.inferno.generator.providers.LavaFallsProvider;
+import org.terasology.inferno.generator.providers.LavaHutProvider;
+import org.terasology.inferno.generator.providers.LavaLevelProvider;
+import org.terasology.inferno.generator.rasterizers.CaveRasterizer;
+import org.terasology.inferno.generator.rasterizers.InfernalTreeRasterizer;
+import org.terasology.inferno.generator.rasterizers.InfernoFloraRasterizer;
+import org.terasology.inferno.generator.rasterizers.InfernoWorldRasterizer;
+import org.terasology.inferno.generator.rasterizers.LavaFallsRasterizer;
+import org.terasology.inferno.generator.rasterizers.LavaHutRasterizer;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.terasology.inferno.generator.InfernoZonePlugin.INFERNO_DEPTH;
+import static org.terasology.inferno.generator.InfernoZonePlugin.INFERNO_HEIGHT;
+
+/**
+ * The Inferno facet providers in dependency order, seeded once, with the facet borders the engine would derive from
+ * their annotations, followed by the rasterizers in the order {@code InfernoZonePlugin} registers them.
+ */
+public class InfernoPipeline {
+    /**
+     * Chunk layer that contains the Inferno surface and the lower part of the ceiling.
+     */
+    public static final int SURFACE_CHUNK_Y = Math.floorDiv(-INFERNO_DEPTH, Chunks.SIZE_Y);
+
+    private final List<FacetProvider> providers;
+    private final Map<Class<? extends WorldFacet>, Border3D> borders;
+    private final List<WorldRasterizer> rasterizers = Arrays.asList(
+            new InfernoWorldRasterizer(),
+            new CaveRasterizer(),
+            new InfernoFloraRasterizer(),
+            new LavaHutRasterizer(),
+            new InfernalTreeRasterizer(),
+            new LavaFallsRasterizer());
+
+    public InfernoPipeline(long seed) {
+        providers = Arrays.asList(
+                new InfernoSurfaceProvider(INFERNO_DEPTH),
+                new ElevationProvider(),
+                new InfernoCeilingProvider(INFERNO_HEIGHT),
+                new LavaLevelProvider(),
+                new LavaFallsProvider(),
+                new FloraProvider(),
+                new InfernalTreeProvider(),
+                new LavaHutProvider(),
+                new CaveFacetProvider());
+        for (FacetProvider provider : providers) {
+            provider.setSeed(seed);
+            provider.initialize();
+        }
+        borders = resolveBorders(providers);
+    }
+
+    public static BlockRegion chunkRegion(int chunkX, int chunkY, int chunkZ) {
+        return new BlockRegion(chunkX * Chunks.SIZE_X, chunkY * Chunks.SIZE_Y, chunkZ * Chunks.SIZE_Z)
+                .setSize(Chunks.SIZE_X, Chunks.SIZE_Y, Chunks.SIZE_Z);
+    }
+
+    public <T extends FacetProvider> T getProvider(Class<T> type) {
+        for (FacetProvider provider : providers) {
+            if (type.isInstance(provider)) {
+                return type.cast(provider);
+            }
+        }
+        throw new IllegalArgumentException("No provider of type " + type.getSimpleName());
+    }
+
+    public List<FacetProvider> getProviders() {
+        return providers;
+    }
+
+    public List<WorldRasterizer> getRasterizers() {
+        return rasterizers;
+    }
+
+    /**
+     * Looks up the rasterizers' blocks; {@link BenchmarkBlockManager#install()} has to be called first.
+     */
+    public void initializeRasterizers() {
+        for (WorldRasterizer rasterizer : rasterizers) {
+            rasterizer.initialize();
+        }
+    }
+
+    /**
+     * Runs every rasterizer over a chunk whose facets were produced by {@link #generate(BlockRegion)}.
+     */
+    public void rasterize(Chunk chunk, Region region) {
+        for (WorldRasterizer rasterizer : rasterizers) {
+            rasterizer.generateChunk(chunk, region);
+        }
+    }
+
+    public BenchmarkRegion createRegion(BlockRegion region) {
+        return new BenchmarkRegion(region, borders);
+    }
+
+    /**
+     * Runs every provider over the given region.
+     */
+    public BenchmarkRegion generate(BlockRegion region) {
+        BenchmarkRegion generatingRegion = createRegion(region);
+        for (FacetProvider provider : providers) {
+            provider.process(generatingRegion);
+        }
+        return generatingRegion;
+    }
+
+    /**
+     * Walks the providers backwards so every facet's border is final before its producer is reached: a required facet
+     * needs the border of whatever the requiring provider writes, extended by the annotated {@link FacetBorder}.
+     */
+    private static Map<Class<? extends WorldFacet>, Border3D> resolveBorders(List<FacetProvider> providers) {
+        Map<Class<? extends WorldFacet>, Border3D> result = new HashMap<>();
+        for (int i = providers.size() - 1; i >= 0; i--) {
+            Class<?> providerType = providers.get(i).getClass();
+            Border3D output = new Border3D(0, 0, 0);
+            Produces produces = providerType.getAnnotation(Produces.class);
+            if (produces != null) {
+                for (Class<? extends WorldFacet> facet : produces.value()) {
+                    output = output.maxWith(result.getOrDefault(facet, new Border3D(0, 0, 0)));
+                }
+            }
+            Updates updates = providerType.getAnnotation(Updates.class);
+            if (updates != null) {
+                for (Facet facet : updates.value()) {
+                    output = output.maxWith(result.getOrDefault(facet.value(), new Border3D(0, 0, 0)));
+                }
+            }
+            Requires requires = providerType.getAnnotation(Requires.class);
+            if (requires != null) {
+                for (Facet facet : requires.value()) {
+                    FacetBorder border = facet.border();
+                    Border3D required = output.extendBy(border.top(), border.bottom(), border.sides());
+                    result.put(facet.value(), required.maxWith(result.getOrDefault(facet.value(), new Border3D(0, 0, 0))));
+                }
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,127 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.inferno.benchmark;
+
+import org.joml.Vector3i;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.terasology.engine.world.generation.WorldRasterizer;
+import org.terasology.inferno.generator.rasterizers.CaveRasterizer;
+import org.terasology.inferno.generator.rasterizers.InfernalTreeRasterizer;
+import org.terasology.inferno.generator.rasterizers.InfernoFloraRasterizer;
+import org.terasology.inferno.generator.rasterizers.InfernoWorldRasterizer;
+import org.terasology.inferno.generator.rasterizers.LavaFallsRasterizer;
+import org.terasology.inferno.generator.rasterizers.LavaHutRasterizer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one chunk for each Inferno rasterizer on its own and for the whole sequence registered by
+ * {@code InfernoZonePlugin}. The facets are generated once during setup, so only block placement is timed. The
+ * {@code setBlockCalls} counter next to the time is the number of {@code setBlock} calls one chunk took; every run
+ * over the same chunk makes the same calls, so JMH reading it at the end of an iteration sees that number.
+ * <p>
+ * The single rasterizer benchmarks run on a chunk that already went through the full sequence, so rasterizers that
+ * read back blocks (flora looks at the block below) see the same terrain as in a real world.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RasterizerBenchmark {
+    @Param({"0", "1"})
+    public int layerAboveSurface;
+
+    private InfernoPipeline pipeline;
+    private BenchmarkRegion region;
+    private CountingChunk chunk;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class SetBlockCounter {
+        public long setBlockCalls;
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchmarkBlockManager blockManager = BenchmarkBlockManager.install();
+        pipeline = new InfernoPipeline(FacetProviderBenchmark.SEED);
+        pipeline.initializeRasterizers();
+
+        int chunkY = InfernoPipeline.SURFACE_CHUNK_Y + layerAboveSurface;
+        region = pipeline.generate(InfernoPipeline.chunkRegion(0, chunkY, 0));
+        chunk = new CountingChunk(new Vector3i(0, chunkY, 0), blockManager);
+        pipeline.rasterize(chunk, region);
+    }
+
+    @Benchmark
+    public CountingChunk world(SetBlockCounter counter) {
+        return run(InfernoWorldRasterizer.class, counter);
+    }
+
+    @Benchmark
+    public CountingChunk caves(SetBlockCounter counter) {
+        return run(CaveRasterizer.class, counter);
+    }
+
+    @Benchmark
+    public CountingChunk flora(SetBlockCounter counter) {
+        return run(InfernoFloraRasterizer.class, counter);
+    }
+
+    @Benchmark
+    public CountingChunk lavaHuts(SetBlockCounter counter) {
+        return run(LavaHutRasterizer.class, counter);
+    }
+
+    @Benchmark
+    public CountingChunk infernalTrees(SetBlockCounter counter) {
+        return run(InfernalTreeRasterizer.class, counter);
+    }
+
+    @Benchmark
+    public CountingChunk lavaFalls(SetBlockCounter counter) {
+        return run(LavaFallsRasterizer.class, counter);
+    }
+
+    @Benchmark
+    public CountingChunk fullSequence(SetBlockCounter counter) {
+        chunk.resetSetBlockCalls();
+        pipeline.rasterize(chunk, region);
+        counter.setBlockCalls = chunk.getSetBlockCalls();
+        return chunk;
+    }
+
+    private CountingChunk run(Class<? extends WorldRasterizer> rasterizerType, SetBlockCounter counter) {
+        chunk.resetSetBlockCalls();
+        for (WorldRasterizer rasterizer : pipeline.getRasterizers()) {
+            if (rasterizerType.isInstance(rasterizer)) {
+                rasterizer.generateChunk(chunk, region);
+            }
+        }
+        counter.setBlockCalls = chunk.getSetBlockCalls();
+        return chunk;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RasterizerBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
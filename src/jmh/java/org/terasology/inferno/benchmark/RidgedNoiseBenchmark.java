@@ -0,0 +1,101 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.inferno.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.terasology.engine.utilities.procedural.PerlinNoise;
+import org.terasology.engine.utilities.random.FastRandom;
+import org.terasology.inferno.generator.providers.CaveFacetProvider;
+import org.terasology.inferno.generator.providers.FastRidgedNoise;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link FastRidgedNoise} with the {@link CaveFacetProvider.RidgedNoise} it replaces, over the key points of
+ * one cave facet (a chunk sub-sampled by 4). Setup fails if the two disagree on any bit of any sample.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RidgedNoiseBenchmark {
+    private static final int SAMPLES = 9 * 17 * 9;
+
+    @Param({"2", "9"})
+    public int octaves;
+
+    private CaveFacetProvider.RidgedNoise reference;
+    private FastRidgedNoise fast;
+    private final float[] xs = new float[SAMPLES];
+    private final float[] ys = new float[SAMPLES];
+    private final float[] zs = new float[SAMPLES];
+    private final float[] result = new float[SAMPLES];
+
+    @Setup(Level.Trial)
+    public void setup() {
+        PerlinNoise base = new PerlinNoise(FacetProviderBenchmark.SEED + 2);
+        reference = new CaveFacetProvider.RidgedNoise(base, octaves);
+        fast = new FastRidgedNoise(base, octaves);
+
+        // cave coordinates are scaled by 0.06/0.09 before they reach the ridged noise
+        FastRandom random = new FastRandom(FacetProviderBenchmark.SEED);
+        for (int i = 0; i < SAMPLES; i++) {
+            xs[i] = random.nextFloat(-6000f, 6000f);
+            ys[i] = random.nextFloat(-9000f, -8990f);
+            zs[i] = random.nextFloat(-6000f, 6000f);
+        }
+
+        fast.noise(xs, ys, zs, result);
+        for (int i = 0; i < SAMPLES; i++) {
+            float expected = reference.noise(xs[i], ys[i], zs[i]);
+            if (Float.floatToIntBits(expected) != Float.floatToIntBits(fast.noise(xs[i], ys[i], zs[i]))
+                    || Float.floatToIntBits(expected) != Float.floatToIntBits(result[i])) {
+                throw new IllegalStateException("FastRidgedNoise differs from RidgedNoise at sample " + i);
+            }
+        }
+    }
+
+    @Benchmark
+    public float[] reference() {
+        for (int i = 0; i < SAMPLES; i++) {
+            result[i] = reference.noise(xs[i], ys[i], zs[i]);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public float[] fast() {
+        for (int i = 0; i < SAMPLES; i++) {
+            result[i] = fast.noise(xs[i], ys[i], zs[i]);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public float[] fastBatch() {
+        fast.noise(xs, ys, zs, result);
+        return result;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RidgedNoiseBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
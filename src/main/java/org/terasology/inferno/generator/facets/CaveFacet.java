@@ -15,17 +15,156 @@
  */
 package org.terasology.inferno.generator.facets;
 
+import org.joml.Vector3i;
 import org.joml.Vector3ic;
 import org.terasology.engine.world.block.BlockRegion;
+import org.terasology.engine.world.block.BlockRegionc;
 import org.terasology.engine.world.generation.Border3D;
-import org.terasology.engine.world.generation.facets.base.BaseBooleanFieldFacet3D;
+import org.terasology.engine.world.generation.facets.base.BaseFacet3D;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Marks the voxels carved out by caves, one bit per voxel.
+ * <p>
+ * Caves are sparse, so consumers should check {@link #isEmpty()} and walk {@link #getWorldPositions()} instead of
+ * testing every position of the region.
+ */
+public class CaveFacet extends BaseFacet3D {
+    private final long[] words;
+    private final int minX;
+    private final int minY;
+    private final int minZ;
+    private final int sizeX;
+    private final int sizeY;
+    private final int sizeZ;
+    // world position of relative (0, 0, 0), i.e. the min corner of the target region
+    private final int offsetX;
+    private final int offsetY;
+    private final int offsetZ;
 
-public class CaveFacet extends BaseBooleanFieldFacet3D {
     public CaveFacet(BlockRegion targetRegion, Border3D border) {
         super(targetRegion, border);
+        BlockRegionc worldRegion = getWorldRegion();
+        minX = worldRegion.minX();
+        minY = worldRegion.minY();
+        minZ = worldRegion.minZ();
+        sizeX = worldRegion.getSizeX();
+        sizeY = worldRegion.getSizeY();
+        sizeZ = worldRegion.getSizeZ();
+        offsetX = targetRegion.minX();
+        offsetY = targetRegion.minY();
+        offsetZ = targetRegion.minZ();
+        words = new long[(sizeX * sizeY * sizeZ + 63) >>> 6];
     }
 
     public int getWorldIndex(Vector3ic pos) {
         return getWorldIndex(pos.x(), pos.y(), pos.z());
     }
+
+    public boolean get(int x, int y, int z) {
+        return getWorld(x + offsetX, y + offsetY, z + offsetZ);
+    }
+
+    public boolean get(Vector3ic pos) {
+        return get(pos.x(), pos.y(), pos.z());
+    }
+
+    public boolean getWorld(int x, int y, int z) {
+        int index = bitIndex(x, y, z);
+        return (words[index >>> 6] & (1L << index)) != 0;
+    }
+
+    public boolean getWorld(Vector3ic pos) {
+        return getWorld(pos.x(), pos.y(), pos.z());
+    }
+
+    public void set(int x, int y, int z, boolean value) {
+        setWorld(x + offsetX, y + offsetY, z + offsetZ, value);
+    }
+
+    public void set(Vector3ic pos, boolean value) {
+        set(pos.x(), pos.y(), pos.z(), value);
+    }
+
+    public void setWorld(int x, int y, int z, boolean value) {
+        int index = bitIndex(x, y, z);
+        if (value) {
+            words[index >>> 6] |= 1L << index;
+        } else {
+            words[index >>> 6] &= ~(1L << index);
+        }
+    }
+
+    public void setWorld(Vector3ic pos, boolean value) {
+        setWorld(pos.x(), pos.y(), pos.z(), value);
+    }
+
+    /**
+     * @return true if no voxel of the facet is part of a cave
+     */
+    public boolean isEmpty() {
+        for (long word : words) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Iterates over the world positions of all cave voxels, including those in the border. The iterator reuses a
+     * single vector, so positions have to be copied if they are kept.
+     */
+    public Iterable<Vector3ic> getWorldPositions() {
+        return SetPositionIterator::new;
+    }
+
+    private int bitIndex(int x, int y, int z) {
+        int relX = x - minX;
+        int relY = y - minY;
+        int relZ = z - minZ;
+        if (relX < 0 || relX >= sizeX || relY < 0 || relY >= sizeY || relZ < 0 || relZ >= sizeZ) {
+            throw new IllegalArgumentException(String.format("Out of bounds: (%d, %d, %d) for region %s", x, y, z, getWorldRegion()));
+        }
+        return relX + sizeX * (relY + sizeY * relZ);
+    }
+
+    private int nextSetBit(int from) {
+        int wordIndex = from >>> 6;
+        if (wordIndex >= words.length) {
+            return -1;
+        }
+        long word = words[wordIndex] & (-1L << from);
+        while (word == 0) {
+            if (++wordIndex == words.length) {
+                return -1;
+            }
+            word = words[wordIndex];
+        }
+        return (wordIndex << 6) + Long.numberOfTrailingZeros(word);
+    }
+
+    private final class SetPositionIterator implements Iterator<Vector3ic> {
+        private final Vector3i position = new Vector3i();
+        private int next = nextSetBit(0);
+
+        @Override
+        public boolean hasNext() {
+            return next >= 0;
+        }
+
+        @Override
+        public Vector3ic next() {
+            if (next < 0) {
+                throw new NoSuchElementException();
+            }
+            int index = next;
+            int column = index / sizeX;
+            position.set(minX + index % sizeX, minY + column % sizeY, minZ + column / sizeY);
+            next = nextSetBit(index + 1);
+            return position;
+        }
+    }
 }
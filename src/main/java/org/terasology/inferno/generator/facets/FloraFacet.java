@@ -17,10 +17,67 @@ package org.terasology.inferno.generator.facets;
 
 import org.terasology.engine.world.block.BlockRegion;
 import org.terasology.engine.world.generation.Border3D;
-import org.terasology.engine.world.generation.facets.base.BaseBooleanFieldFacet3D;
+import org.terasology.engine.world.generation.facets.base.BaseFacet3D;
+
+import java.util.Arrays;
+
+/**
+ * The flora positions of a region, at most one per column, each with a variant that decides which plant grows there.
+ * <p>
+ * Entries are packed into a single int array as (x, y, z, variant) in world coordinates, so consumers visit only the
+ * flora instead of scanning the whole region.
+ */
+public class FloraFacet extends BaseFacet3D {
+    private static final int ENTRY_SIZE = 4;
+
+    private int[] entries = new int[ENTRY_SIZE * 16];
+    private int count;
 
-public class FloraFacet extends BaseBooleanFieldFacet3D {
     public FloraFacet(BlockRegion targetRegion, Border3D border) {
         super(targetRegion, border);
     }
+
+    /**
+     * Adds a flora position in world coordinates.
+     *
+     * @param variant a value in [0, {@link org.terasology.inferno.generator.providers.FloraProvider#VARIANT_RANGE})
+     */
+    public void addWorld(int x, int y, int z, int variant) {
+        if (!getWorldRegion().contains(x, y, z)) {
+            throw new IllegalArgumentException(String.format("Out of bounds: (%d, %d, %d) for region %s", x, y, z, getWorldRegion()));
+        }
+        int offset = count * ENTRY_SIZE;
+        if (offset == entries.length) {
+            entries = Arrays.copyOf(entries, entries.length * 2);
+        }
+        entries[offset] = x;
+        entries[offset + 1] = y;
+        entries[offset + 2] = z;
+        entries[offset + 3] = variant;
+        count++;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    public int getWorldX(int index) {
+        return entries[index * ENTRY_SIZE];
+    }
+
+    public int getWorldY(int index) {
+        return entries[index * ENTRY_SIZE + 1];
+    }
+
+    public int getWorldZ(int index) {
+        return entries[index * ENTRY_SIZE + 2];
+    }
+
+    public int getVariant(int index) {
+        return entries[index * ENTRY_SIZE + 3];
+    }
 }
@@ -15,9 +15,9 @@
  */
 package org.terasology.inferno.generator.facets;
 
-import org.joml.Vector3i;
 import org.joml.Vector3ic;
 import org.terasology.engine.world.block.BlockRegion;
+import org.terasology.engine.world.block.BlockRegionc;
 import org.terasology.engine.world.generation.Border3D;
 import org.terasology.engine.world.generation.facets.base.SparseObjectFacet3D;
 import org.terasology.inferno.generator.structures.InfernalTree;
@@ -25,27 +25,111 @@ import org.terasology.inferno.generator.structures.InfernalTree;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * The infernal trees of a region, keyed by the position of their base.
+ * <p>
+ * Tree positions are also kept in a uniform grid of {@link #CELL_SIZE} wide (x, z) cells over the world region, so
+ * distance queries only look at the cells around the query position instead of every tree.
+ */
 public class InfernalTreeFacet extends SparseObjectFacet3D<InfernalTree> {
-    private List<Vector3ic> treesPos = new ArrayList<Vector3ic>();
+    public static final int CELL_SIZE = 16;
+
+    private final int minX;
+    private final int minZ;
+    private final int cellsX;
+    private final int cellsZ;
+    private final List<List<Vector3ic>> cells;
 
     public InfernalTreeFacet(BlockRegion targetRegion, Border3D border) {
         super(targetRegion, border);
+        BlockRegionc worldRegion = getWorldRegion();
+        minX = worldRegion.minX();
+        minZ = worldRegion.minZ();
+        cellsX = (worldRegion.getSizeX() + CELL_SIZE - 1) / CELL_SIZE;
+        cellsZ = (worldRegion.getSizeZ() + CELL_SIZE - 1) / CELL_SIZE;
+        cells = new ArrayList<>(cellsX * cellsZ);
+        for (int i = 0; i < cellsX * cellsZ; i++) {
+            cells.add(new ArrayList<>(1));
+        }
+    }
+
+    /**
+     * Places a tree and adds it to the spatial index.
+     *
+     * @param pos world position of the tree, must be inside the world region
+     */
+    public void addTree(Vector3ic pos, InfernalTree tree) {
+        setWorld(pos, tree);
+        cells.get(cellX(pos.x()) + cellsX * cellZ(pos.z())).add(pos);
     }
 
-    public void addTree(Vector3ic pos) {
-        treesPos.add(pos);
+    /**
+     * @return the distance from pos to the nearest tree that is not at pos itself, or -1 if there is none
+     */
+    public double getDistanceToNearestTree(Vector3ic pos) {
+        int centerX = cellX(pos.x());
+        int centerZ = cellZ(pos.z());
+        // no cell is further away than this ring
+        int maxRing = Math.max(Math.max(centerX, cellsX - 1 - centerX), Math.max(centerZ, cellsZ - 1 - centerZ));
+        long nearestSq = Long.MAX_VALUE;
+        for (int ring = 0; ring <= maxRing; ring++) {
+            for (int z = centerZ - ring; z <= centerZ + ring; z++) {
+                boolean edgeRow = z == centerZ - ring || z == centerZ + ring;
+                int step = edgeRow ? 1 : 2 * ring;
+                for (int x = centerX - ring; x <= centerX + ring; x += step) {
+                    nearestSq = Math.min(nearestSq, nearestInCell(x, z, pos));
+                }
+            }
+            // every cell beyond this ring is more than ring * CELL_SIZE away along x or z
+            long reach = (long) ring * CELL_SIZE;
+            if (nearestSq <= reach * reach) {
+                break;
+            }
+        }
+        return nearestSq == Long.MAX_VALUE ? -1 : Math.sqrt(nearestSq);
     }
 
-    public double getDistanceToNearestTree(Vector3i pos) {
-        double distanceToNearest = -1f;
-        for (Vector3ic treePos: treesPos) {
-            if (treePos == pos) {
-                continue;
+    /**
+     * @return the positions of all trees at most radius away from pos, including a tree at pos itself
+     */
+    public List<Vector3ic> getTreesWithin(Vector3ic pos, double radius) {
+        List<Vector3ic> result = new ArrayList<>();
+        int reach = (int) Math.ceil(radius);
+        int fromX = Math.max(0, cellX(pos.x() - reach));
+        int toX = Math.min(cellsX - 1, cellX(pos.x() + reach));
+        int fromZ = Math.max(0, cellZ(pos.z() - reach));
+        int toZ = Math.min(cellsZ - 1, cellZ(pos.z() + reach));
+        double radiusSq = radius * radius;
+        for (int z = fromZ; z <= toZ; z++) {
+            for (int x = fromX; x <= toX; x++) {
+                for (Vector3ic treePos : cells.get(x + cellsX * z)) {
+                    if (treePos.distanceSquared(pos) <= radiusSq) {
+                        result.add(treePos);
+                    }
+                }
             }
-            if (treePos.distance(pos) < distanceToNearest || distanceToNearest < 0) {
-                distanceToNearest = treePos.distance(pos);
+        }
+        return result;
+    }
+
+    private long nearestInCell(int x, int z, Vector3ic pos) {
+        long nearestSq = Long.MAX_VALUE;
+        if (x < 0 || x >= cellsX || z < 0 || z >= cellsZ) {
+            return nearestSq;
+        }
+        for (Vector3ic treePos : cells.get(x + cellsX * z)) {
+            if (!treePos.equals(pos)) {
+                nearestSq = Math.min(nearestSq, treePos.distanceSquared(pos));
             }
         }
-        return distanceToNearest;
+        return nearestSq;
+    }
+
+    private int cellX(int worldX) {
+        return Math.floorDiv(worldX - minX, CELL_SIZE);
+    }
+
+    private int cellZ(int worldZ) {
+        return Math.floorDiv(worldZ - minZ, CELL_SIZE);
     }
 }
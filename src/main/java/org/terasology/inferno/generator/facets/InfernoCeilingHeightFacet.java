@@ -16,12 +16,39 @@
 package org.terasology.inferno.generator.facets;
 
 import org.terasology.engine.world.block.BlockRegion;
+import org.terasology.engine.world.block.BlockRegionc;
 import org.terasology.engine.world.generation.Border3D;
 import org.terasology.engine.world.generation.facets.base.BaseFieldFacet2D;
 
 public class InfernoCeilingHeightFacet extends BaseFieldFacet2D {
+    private float minCeilingHeight;
+    private float maxCeilingHeight;
 
     public InfernoCeilingHeightFacet(BlockRegion targetRegion, Border3D border) {
         super(targetRegion, border);
     }
+
+    /**
+     * Sets the range every ceiling height of the world falls into, independent of this facet's region.
+     */
+    public void setCeilingHeightBounds(float minCeilingHeight, float maxCeilingHeight) {
+        this.minCeilingHeight = minCeilingHeight;
+        this.maxCeilingHeight = maxCeilingHeight;
+    }
+
+    public float getMinCeilingHeight() {
+        return minCeilingHeight;
+    }
+
+    public float getMaxCeilingHeight() {
+        return maxCeilingHeight;
+    }
+
+    /**
+     * @return whether the whole region lies more than reach above every possible ceiling, so nothing built from the
+     *         ceiling or the ground below it can get there
+     */
+    public boolean isAboveCeiling(BlockRegionc region, int reach) {
+        return region.minY() > maxCeilingHeight + reach;
+    }
 }
@@ -15,12 +15,42 @@
  */
 package org.terasology.inferno.generator.facets;
 
+import org.joml.Vector2i;
+import org.joml.Vector2ic;
 import org.terasology.engine.world.block.BlockRegion;
 import org.terasology.engine.world.generation.Border3D;
 import org.terasology.engine.world.generation.facets.base.BaseBooleanFieldFacet2D;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 public class LavaFallsFacet extends BaseBooleanFieldFacet2D {
+    /**
+     * How far a lava fall reaches into the ground below and the ceiling above.
+     */
+    public static final int LAVA_WELL_DEPTH = 10;
+
+    private final List<Vector2ic> lavaFallColumns = new ArrayList<>();
+
     public LavaFallsFacet(BlockRegion targetRegion, Border3D border) {
         super(targetRegion, border);
     }
+
+    /**
+     * Marks a column as a lava fall and records it in {@link #getLavaFallColumns()}.
+     */
+    public void addLavaFall(int x, int z) {
+        if (!getWorld(x, z)) {
+            setWorld(x, z, true);
+            lavaFallColumns.add(new Vector2i(x, z));
+        }
+    }
+
+    /**
+     * @return the world (x, z) position of every column added with {@link #addLavaFall(int, int)}
+     */
+    public List<Vector2ic> getLavaFallColumns() {
+        return Collections.unmodifiableList(lavaFallColumns);
+    }
 }
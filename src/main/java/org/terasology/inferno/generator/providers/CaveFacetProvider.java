@@ -3,12 +3,11 @@
 package org.terasology.inferno.generator.providers;
 
 import org.joml.Vector3f;
-import org.joml.Vector3i;
-import org.joml.Vector3ic;
 import org.terasology.engine.utilities.procedural.AbstractNoise;
 import org.terasology.engine.utilities.procedural.Noise;
 import org.terasology.engine.utilities.procedural.PerlinNoise;
 import org.terasology.engine.utilities.procedural.SubSampledNoise;
+import org.terasology.engine.world.block.BlockRegion;
 import org.terasology.engine.world.generation.ConfigurableFacetProvider;
 import org.terasology.engine.world.generation.Facet;
 import org.terasology.engine.world.generation.GeneratingRegion;
@@ -45,34 +44,56 @@ public class CaveFacetProvider implements ConfigurableFacetProvider {
         float noiseLevel = configuration.rawAmount;
 
         // at default settings,  make caves wider than tall.
-        SubSampledNoise caveNoise = new SubSampledNoise(new RidgedNoise(baseCaveNoise, 2), new Vector3f(0.06f * (1f / width), 0.09f * (1f / height), 0.06f * (1f / width)), 4);
+        SubSampledRidgedNoise caveNoise = new SubSampledRidgedNoise(new FastRidgedNoise(baseCaveNoise, 2), new Vector3f(0.06f * (1f / width), 0.09f * (1f / height), 0.06f * (1f / width)), 4);
         SubSampledNoise fadeCaveNoise = new SubSampledNoise(baseFadeCaveNoise, new Vector3f(0.006f * (1f / width), 0.006f * (1f / height), 0.006f * (1f / width)), 1);
         CaveFacet facet = new CaveFacet(region.getRegion(), region.getBorderForFacet(CaveFacet.class));
         InfernoSurfaceHeightFacet surfaceHeightFacet = region.getRegionFacet(InfernoSurfaceHeightFacet.class);
 
+        // caves only form below the surface, so nothing above the highest surface column of this region needs noise
+        BlockRegion processRegion = region.getRegion();
+        float maxSurfaceHeight = Float.NEGATIVE_INFINITY;
+        for (int z = processRegion.minZ(); z <= processRegion.maxZ(); z++) {
+            for (int x = processRegion.minX(); x <= processRegion.maxX(); x++) {
+                maxSurfaceHeight = Math.max(maxSurfaceHeight, surfaceHeightFacet.getWorld(x, z));
+            }
+        }
+        int maxCaveY = Math.min(processRegion.maxY(), (int) Math.ceil(maxSurfaceHeight - minDepth) - 1);
+        if (maxCaveY < processRegion.minY()) {
+            region.setRegionFacet(CaveFacet.class, facet);
+            return;
+        }
+        BlockRegion sampleRegion = new BlockRegion(processRegion.minX(), processRegion.minY(), processRegion.minZ(),
+                processRegion.maxX(), maxCaveY, processRegion.maxZ());
+
         // get noise in batch for performance reasons.  Getting it by individual position takes 10 times as long
-        float[] caveNoiseValues = caveNoise.noise(facet.getWorldRegion());
-        float[] fadeCaveNoiseValues = fadeCaveNoise.noise(facet.getWorldRegion());
-
-        for (Vector3ic position : region.getRegion()) {
-            Vector3i pos = new Vector3i(position);
-            float depth = surfaceHeightFacet.getWorld(pos.x, pos.z) - pos.y;
-            if (depth > minDepth) {
-                float noiseValue = caveNoiseValues[facet.getWorldIndex(pos)];
-                // fade caves out as they reach the surface or above the surface
-                float fadeForSurfaceCutoff = Math.min(1f - amountOfCavesNearSurface, Math.max(0f, 1f - (depth / sharpSurfaceCutoffDepth)));
-                // gradually decrease caves as they get closer to the surface
-                float fadeForScale = Math.max(0f, 1f - (depth / gradualIncreaseOverDepth)) * (1f - amountOfCavesNearSurface);
-
-                float noiseLevelIncrease = (1f - noiseLevel)
-                        * (
-                        Math.max(fadeForSurfaceCutoff, fadeForScale)
-                                // fade caves on a broad scale to stop them from being uniform
-                                // Amount added to the noise value: 1 = prevent all caves.  0 = allow normal perlin.  -1 = all caves
-                                + Math.max(0f, Math.abs(fadeCaveNoiseValues[facet.getWorldIndex(pos)]) + (2f * (1f - amountOfCaves)) - 1f)
-                );
-
-                facet.setWorld(pos, noiseValue > noiseLevel + noiseLevelIncrease);
+        float[] caveNoiseValues = caveNoise.noise(sampleRegion);
+        float[] fadeCaveNoiseValues = fadeCaveNoise.noise(sampleRegion);
+
+        int sizeX = sampleRegion.getSizeX();
+        int sizeY = sampleRegion.getSizeY();
+        for (int z = sampleRegion.minZ(); z <= sampleRegion.maxZ(); z++) {
+            for (int y = sampleRegion.minY(); y <= sampleRegion.maxY(); y++) {
+                for (int x = sampleRegion.minX(); x <= sampleRegion.maxX(); x++) {
+                    float depth = surfaceHeightFacet.getWorld(x, z) - y;
+                    if (depth > minDepth) {
+                        int index = x - sampleRegion.minX() + sizeX * (y - sampleRegion.minY() + sizeY * (z - sampleRegion.minZ()));
+                        float noiseValue = caveNoiseValues[index];
+                        // fade caves out as they reach the surface or above the surface
+                        float fadeForSurfaceCutoff = Math.min(1f - amountOfCavesNearSurface, Math.max(0f, 1f - (depth / sharpSurfaceCutoffDepth)));
+                        // gradually decrease caves as they get closer to the surface
+                        float fadeForScale = Math.max(0f, 1f - (depth / gradualIncreaseOverDepth)) * (1f - amountOfCavesNearSurface);
+
+                        float noiseLevelIncrease = (1f - noiseLevel)
+                                * (
+                                Math.max(fadeForSurfaceCutoff, fadeForScale)
+                                        // fade caves on a broad scale to stop them from being uniform
+                                        // Amount added to the noise value: 1 = prevent all caves.  0 = allow normal perlin.  -1 = all caves
+                                        + Math.max(0f, Math.abs(fadeCaveNoiseValues[index]) + (2f * (1f - amountOfCaves)) - 1f)
+                        );
+
+                        facet.setWorld(x, y, z, noiseValue > noiseLevel + noiseLevelIncrease);
+                    }
+                }
             }
         }
 
@@ -120,6 +141,9 @@ public class CaveFacetProvider implements ConfigurableFacetProvider {
         }
     }
 
+    /**
+     * The original ridged noise kernel, kept as the reference {@link FastRidgedNoise} is checked against.
+     */
     public static class RidgedNoise extends AbstractNoise {
 
         /**
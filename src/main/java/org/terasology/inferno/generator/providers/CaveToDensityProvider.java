@@ -34,10 +34,13 @@ public class CaveToDensityProvider implements FacetProvider {
     @Override
     public void process(GeneratingRegion region) {
         CaveFacet caveFacet = region.getRegionFacet(CaveFacet.class);
+        if (caveFacet.isEmpty()) {
+            return;
+        }
         DensityFacet densityFacet = region.getRegionFacet(DensityFacet.class);
 
-        for (Vector3ic pos : region.getRegion()) {
-            if (caveFacet.getWorld(pos)) {
+        for (Vector3ic pos : caveFacet.getWorldPositions()) {
+            if (region.getRegion().contains(pos)) {
                 densityFacet.setWorld(pos, -1f);
             }
         }
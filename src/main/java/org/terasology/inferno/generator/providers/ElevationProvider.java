@@ -16,9 +16,7 @@
 package org.terasology.inferno.generator.providers;
 
 import org.joml.Vector2f;
-import org.joml.Vector2ic;
 import org.terasology.engine.utilities.procedural.BrownianNoise;
-import org.terasology.engine.utilities.procedural.Noise;
 import org.terasology.engine.utilities.procedural.SimplexNoise;
 import org.terasology.engine.utilities.procedural.SubSampledNoise;
 import org.terasology.engine.world.block.BlockAreac;
@@ -32,10 +30,13 @@ import org.terasology.math.TeraMath;
 @Updates(@Facet(InfernoSurfaceHeightFacet.class))
 public class ElevationProvider implements FacetProvider {
     private static final float MAX_ELEVATION = 30;
-    private Noise redNoise;
+    private final HeightFieldCache elevationCache = new HeightFieldCache();
+    private SubSampledNoise redNoise;
+    private long seed;
 
     @Override
     public void setSeed(long seed) {
+        this.seed = seed;
         redNoise = new SubSampledNoise(new BrownianNoise(new SimplexNoise(seed + 10), 8), new Vector2f(0.001f, 0.001f), 1);
     }
 
@@ -44,10 +45,22 @@ public class ElevationProvider implements FacetProvider {
         InfernoSurfaceHeightFacet facet = region.getRegionFacet(InfernoSurfaceHeightFacet.class);
         // elevating ground to a height above the ceiling gives the appearance of walls
         BlockAreac processRegion = facet.getWorldArea();
-        for (Vector2ic position : processRegion) {
-            float elevationHeight = redNoise.noise(position.x(), position.y()) * MAX_ELEVATION;
-            elevationHeight = TeraMath.clamp(elevationHeight, 0, MAX_ELEVATION);
-            facet.setWorld(position, facet.getWorld(position) + elevationHeight);
+        float[] elevation = elevationCache.get(seed, processRegion);
+        if (elevation == null) {
+            // cache only the elevation, the surface below it comes from the surface provider's own cache
+            elevation = redNoise.noise(processRegion);
+            for (int i = 0; i < elevation.length; i++) {
+                elevation[i] = TeraMath.clamp(elevation[i] * MAX_ELEVATION, 0, MAX_ELEVATION);
+            }
+            elevationCache.put(seed, processRegion, elevation);
         }
+        float[] heights = facet.getInternal();
+        for (int i = 0; i < heights.length; i++) {
+            heights[i] += elevation[i];
+        }
+    }
+
+    public HeightFieldCache getElevationCache() {
+        return elevationCache;
     }
 }
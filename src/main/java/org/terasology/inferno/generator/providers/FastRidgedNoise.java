@@ -0,0 +1,91 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.inferno.generator.providers;
+
+import org.terasology.engine.utilities.procedural.AbstractNoise;
+import org.terasology.engine.utilities.procedural.Noise;
+
+/**
+ * Same output as {@link CaveFacetProvider.RidgedNoise}, bit for bit, with the per-octave powers of two computed once
+ * instead of four times per octave and sample.
+ * <p>
+ * Like the original it only uses the octave count; lacunarity, persistence and the spectral weights derived from them
+ * never took part in the result.
+ */
+public class FastRidgedNoise extends AbstractNoise {
+    private final Noise other;
+    private final int octaves;
+    // 2^i and 1/2^i kept as doubles, which is the precision Math.pow gave the original
+    private final double[] frequencyFactors;
+    private final double[] amplitudes;
+
+    /**
+     * @param other   the noise to use as a basis
+     * @param octaves the number of octaves to use
+     */
+    public FastRidgedNoise(Noise other, int octaves) {
+        this.other = other;
+        this.octaves = octaves;
+        this.frequencyFactors = new double[octaves];
+        this.amplitudes = new double[octaves];
+        for (int i = 0; i < octaves; i++) {
+            frequencyFactors[i] = Math.pow(2, i);
+            amplitudes[i] = 1f / Math.pow(2, i);
+        }
+    }
+
+    @Override
+    public float noise(float x, float y, float z) {
+        float result = other.noise(x, y, z);
+
+        float workingX = x;
+        float workingY = y;
+        float workingZ = z;
+        for (int i = 1; i < octaves; i++) {
+            double factor = frequencyFactors[i] * Math.abs(result);
+            workingX *= factor;
+            workingY *= factor;
+            workingZ *= factor;
+            result += Math.abs(other.noise(workingX, workingY, workingZ)) * amplitudes[i];
+        }
+        return result;
+    }
+
+    /**
+     * Evaluates the noise for a batch of positions, one octave at a time over all of them. Each position goes through
+     * the same operations as in {@link #noise(float, float, float)}, so the values are identical.
+     *
+     * @param xs     the x coordinates
+     * @param ys     the y coordinates
+     * @param zs     the z coordinates
+     * @param result receives the noise value of each position, must be at least as long as the coordinate arrays
+     */
+    public void noise(float[] xs, float[] ys, float[] zs, float[] result) {
+        int count = xs.length;
+        for (int j = 0; j < count; j++) {
+            result[j] = other.noise(xs[j], ys[j], zs[j]);
+        }
+        if (octaves < 2) {
+            return;
+        }
+
+        float[] workingX = xs.clone();
+        float[] workingY = ys.clone();
+        float[] workingZ = zs.clone();
+        for (int i = 1; i < octaves; i++) {
+            double frequency = frequencyFactors[i];
+            double amplitude = amplitudes[i];
+            for (int j = 0; j < count; j++) {
+                double factor = frequency * Math.abs(result[j]);
+                workingX[j] *= factor;
+                workingY[j] *= factor;
+                workingZ[j] *= factor;
+                result[j] += Math.abs(other.noise(workingX[j], workingY[j], workingZ[j])) * amplitude;
+            }
+        }
+    }
+
+    public int getOctaves() {
+        return octaves;
+    }
+}
@@ -25,37 +25,56 @@ import org.terasology.engine.world.generation.GeneratingRegion;
 import org.terasology.engine.world.generation.Produces;
 import org.terasology.engine.world.generation.Requires;
 import org.terasology.inferno.generator.facets.FloraFacet;
+import org.terasology.inferno.generator.facets.InfernoCeilingHeightFacet;
 import org.terasology.inferno.generator.facets.InfernoSurfaceHeightFacet;
 import org.terasology.inferno.generator.facets.LavaLevelFacet;
 
 @Produces(FloraFacet.class)
-@Requires( {@Facet(LavaLevelFacet.class), @Facet(InfernoSurfaceHeightFacet.class)})
+@Requires( {@Facet(LavaLevelFacet.class), @Facet(InfernoSurfaceHeightFacet.class), @Facet(InfernoCeilingHeightFacet.class)})
 public class FloraProvider implements FacetProvider {
+    /**
+     * Number of distinct flora variants; the rasterizer maps them onto its plants.
+     */
+    public static final int VARIANT_RANGE = 1000;
+
     private Noise noise;
+    private Noise variantNoise;
 
     @Override
     public void setSeed(long seed) {
         noise = new WhiteNoise(seed + 3);
+        variantNoise = new WhiteNoise(seed + 6);
     }
 
     @Override
     public void process(GeneratingRegion region) {
         Border3D border = region.getBorderForFacet(FloraFacet.class);
         FloraFacet facet = new FloraFacet(region.getRegion(), border);
+        InfernoCeilingHeightFacet ceilingHeightFacet = region.getRegionFacet(InfernoCeilingHeightFacet.class);
+        if (ceilingHeightFacet.isAboveCeiling(facet.getWorldRegion(), 0)) {
+            // the stone border: flora only grows on ground below the ceiling
+            region.setRegionFacet(FloraFacet.class, facet);
+            return;
+        }
         InfernoSurfaceHeightFacet surfaceHeightFacet = region.getRegionFacet(InfernoSurfaceHeightFacet.class);
         LavaLevelFacet lavaLevelFacet = region.getRegionFacet(LavaLevelFacet.class);
 
         for (Vector2ic position : surfaceHeightFacet.getWorldArea()) {
             int surfaceHeight = (int) Math.ceil(surfaceHeightFacet.getWorld(position));
 
-            float n = noise.noise(position.x(), position.y());
             if (facet.getWorldRegion().contains(position.x(), surfaceHeight, position.y())
                     && surfaceHeight > lavaLevelFacet.getLavaLevel()
                     && noise.noise(position.x(), position.y()) > 0.96) {
-                facet.setWorld(position.x(), surfaceHeight, position.y(), true);
+                facet.addWorld(position.x(), surfaceHeight, position.y(), getVariant(position.x(), position.y()));
             }
         }
 
         region.setRegionFacet(FloraFacet.class, facet);
     }
+
+    private int getVariant(int x, int z) {
+        // white noise is in [-1, 1]
+        int variant = (int) ((variantNoise.noise(x, z) + 1) * 0.5f * VARIANT_RANGE);
+        return Math.min(variant, VARIANT_RANGE - 1);
+    }
 }
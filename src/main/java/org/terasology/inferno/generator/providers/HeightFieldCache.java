@@ -0,0 +1,110 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.inferno.generator.providers;
+
+import org.terasology.engine.world.block.BlockAreac;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU cache of 2D heightfields, keyed by seed and the (x, z) area a facet covers.
+ * <p>
+ * Chunks stacked in the same column share the area of their 2D facets, so a provider only has to evaluate its noise for
+ * the first chunk of a column. Cached arrays are shared and must not be modified; facets copy them in
+ * {@code set(float[])}.
+ */
+public class HeightFieldCache {
+    public static final int DEFAULT_CAPACITY = 128;
+
+    private final Map<ColumnKey, float[]> entries;
+    private long hits;
+    private long misses;
+
+    public HeightFieldCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public HeightFieldCache(int capacity) {
+        this.entries = new LinkedHashMap<ColumnKey, float[]>(capacity + 1, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ColumnKey, float[]> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * @return the cached heightfield for this area, or null if it has to be computed
+     */
+    public synchronized float[] get(long seed, BlockAreac area) {
+        float[] values = entries.get(new ColumnKey(seed, area));
+        if (values == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return values;
+    }
+
+    public synchronized void put(long seed, BlockAreac area, float[] values) {
+        entries.put(new ColumnKey(seed, area), values);
+    }
+
+    /**
+     * Drops every cached heightfield; the hit and miss counts are kept.
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private static final class ColumnKey {
+        private final long seed;
+        private final int minX;
+        private final int minZ;
+        private final int maxX;
+        private final int maxZ;
+
+        ColumnKey(long seed, BlockAreac area) {
+            this.seed = seed;
+            this.minX = area.minX();
+            this.minZ = area.minY();
+            this.maxX = area.maxX();
+            this.maxZ = area.maxY();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ColumnKey)) {
+                return false;
+            }
+            ColumnKey other = (ColumnKey) o;
+            return seed == other.seed && minX == other.minX && minZ == other.minZ && maxX == other.maxX && maxZ == other.maxZ;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = Long.hashCode(seed);
+            result = 31 * result + minX;
+            result = 31 * result + minZ;
+            result = 31 * result + maxX;
+            result = 31 * result + maxZ;
+            return result;
+        }
+    }
+}
@@ -25,9 +25,7 @@ import org.terasology.engine.utilities.procedural.BrownianNoise;
 import org.terasology.engine.utilities.procedural.Noise;
 import org.terasology.engine.utilities.procedural.SimplexNoise;
 import org.terasology.engine.utilities.procedural.SubSampledNoise;
-import org.terasology.engine.utilities.procedural.WhiteNoise;
-import org.terasology.engine.utilities.random.FastRandom;
-import org.terasology.engine.utilities.random.Random;
+import org.terasology.engine.world.block.BlockRegionc;
 import org.terasology.engine.world.generation.Border3D;
 import org.terasology.engine.world.generation.Facet;
 import org.terasology.engine.world.generation.FacetBorder;
@@ -41,65 +39,73 @@ import org.terasology.inferno.generator.facets.InfernoSurfaceHeightFacet;
 import org.terasology.inferno.generator.structures.InfernalTree;
 import org.terasology.math.TeraMath;
 
-import java.util.ArrayList;
-import java.util.List;
-
 @Produces(InfernalTreeFacet.class)
 @Requires( {
-        @Facet(value = InfernoCeilingHeightFacet.class, border = @FacetBorder(top = 25, bottom = 25, sides = 25)),
-        @Facet(InfernoSurfaceHeightFacet.class)
+        @Facet(value = InfernoCeilingHeightFacet.class, border = @FacetBorder(sides = InfernalTree.MAX_CANOPY_RADIUS)),
+        @Facet(value = InfernoSurfaceHeightFacet.class, border = @FacetBorder(sides = InfernalTree.MAX_CANOPY_RADIUS))
 })
 public class InfernalTreeProvider implements FacetProvider {
-    private static final int MIN_TRUNK_HEIGHT = 4;
-    private static final int MAX_TRUNK_HEIGHT = 6;
+    private static final int MIN_TRUNK_HEIGHT = InfernalTree.MIN_TRUNK_HEIGHT;
+    private static final int MAX_TRUNK_HEIGHT = InfernalTree.MAX_TRUNK_HEIGHT;
     private static final int MIN_SPAWN_SPACE = 15;
+    // one candidate tree per cell, as dense as the old white noise threshold of 0.997: WhiteNoise returns values in
+    // [-1, 1], so the cell size is round(sqrt(2 / (1 - threshold)))
+    private static final int CELL_SIZE = 26;
+    // keeps candidates of neighbouring cells at least half a cell apart
+    private static final int CELL_MARGIN = CELL_SIZE / 4;
+    // canopy of every possible trunk height, shared by all trees of that height
+    private static final int[][] CANOPIES = new int[MAX_TRUNK_HEIGHT + 1][];
+
+    static {
+        for (int trunkHeight = MIN_TRUNK_HEIGHT; trunkHeight <= MAX_TRUNK_HEIGHT; trunkHeight++) {
+            CANOPIES[trunkHeight] = generateCanopy(trunkHeight);
+        }
+    }
 
-    private Noise spawnNoise;
+    private JitteredGrid spawnGrid;
     private Noise heightNoise;
-    private Random random;
     private Logger logger = LoggerFactory.getLogger(InfernalTreeProvider.class);
 
     @Override
     public void setSeed(long seed) {
-        spawnNoise = new WhiteNoise(seed + 20);
+        spawnGrid = new JitteredGrid(seed + 20, CELL_SIZE, CELL_MARGIN);
         heightNoise = new SubSampledNoise(new BrownianNoise(new SimplexNoise(seed + 30), 8), new Vector2f(0.001f, 0.001f), 1);
-        random = new FastRandom(seed + 20);
     }
 
     @Override
     public void process(GeneratingRegion region) {
-        Border3D border = region.getBorderForFacet(InfernalTreeFacet.class).extendBy(30, 30, 30);
+        Border3D border = InfernalTree.FOOTPRINT.extendBorder(region.getBorderForFacet(InfernalTreeFacet.class));
         InfernalTreeFacet treeFacet = new InfernalTreeFacet(region.getRegion(), border);
         InfernoCeilingHeightFacet ceilingHeightFacet = region.getRegionFacet(InfernoCeilingHeightFacet.class);
         InfernoSurfaceHeightFacet surfaceHeightFacet = region.getRegionFacet(InfernoSurfaceHeightFacet.class);
 
-        for (Vector2ic position : ceilingHeightFacet.getWorldArea()) {
+        BlockRegionc worldRegion = treeFacet.getWorldRegion();
+        if (ceilingHeightFacet.isAboveCeiling(worldRegion, 0)) {
+            // the stone border: trees hang from the ceiling
+            region.setRegionFacet(InfernalTreeFacet.class, treeFacet);
+            return;
+        }
+        for (Vector2ic position : spawnGrid.getPoints(worldRegion.minX(), worldRegion.minZ(), worldRegion.maxX(), worldRegion.maxZ())) {
             int ceilingHeight = (int) Math.floor(ceilingHeightFacet.getWorld(position));
             float surfaceHeight = surfaceHeightFacet.getWorld(position);
-            if (treeFacet.getWorldRegion().contains(position.x(), ceilingHeight, position.y())
-                    && ceilingHeight - surfaceHeight > MIN_SPAWN_SPACE
-                    && spawnNoise.noise(position.x(), position.y()) > 0.997) {
+            if (worldRegion.contains(position.x(), ceilingHeight, position.y())
+                    && ceilingHeight - surfaceHeight > MIN_SPAWN_SPACE) {
                 int trunkHeight = (int) TeraMath.clamp(heightNoise.noise(position.x(), position.y()) * MAX_TRUNK_HEIGHT, MIN_TRUNK_HEIGHT, MAX_TRUNK_HEIGHT);
                 Vector3ic treePos = new Vector3i(position.x(), ceilingHeight, position.y());
-                InfernalTree tree = new InfernalTree(trunkHeight, generateCanopy(trunkHeight));
-                treeFacet.setWorld(treePos, tree);
-                treeFacet.addTree(treePos);
+                InfernalTree tree = new InfernalTree(trunkHeight, CANOPIES[trunkHeight]);
+                treeFacet.addTree(treePos, tree);
             }
         }
         region.setRegionFacet(InfernalTreeFacet.class, treeFacet);
     }
 
-    private List<Integer> generateCanopy(int trunkHeight) {
-        List<Integer> canopySize = new ArrayList<>();
+    private static int[] generateCanopy(int trunkHeight) {
+        int[] canopySize = new int[trunkHeight + 1];
         int canopyStart = trunkHeight / 2 + 1;
         int canopyCount = trunkHeight - canopyStart + 1;
-        for (int height = 0; height < trunkHeight + 1; height++) {
-            if (height >= canopyStart) {
-                canopySize.add(canopyCount);
-                canopyCount--;
-            } else {
-                canopySize.add(0);
-            }
+        for (int height = canopyStart; height < trunkHeight + 1; height++) {
+            canopySize[height] = canopyCount;
+            canopyCount--;
         }
         return canopySize;
     }
@@ -16,8 +16,6 @@
 package org.terasology.inferno.generator.providers;
 
 import org.joml.Vector2f;
-import org.joml.Vector2ic;
-import org.terasology.engine.utilities.procedural.Noise;
 import org.terasology.engine.utilities.procedural.SimplexNoise;
 import org.terasology.engine.utilities.procedural.SubSampledNoise;
 import org.terasology.engine.world.block.BlockAreac;
@@ -33,7 +31,11 @@ import org.terasology.inferno.generator.facets.InfernoSurfaceHeightFacet;
 @Produces(InfernoCeilingHeightFacet.class)
 @Requires(@Facet(InfernoSurfaceHeightFacet.class))
 public class InfernoCeilingProvider implements FacetProvider {
-    private Noise surfaceNoise;
+    private static final int CEILING_AMPLITUDE = 20;
+
+    private final HeightFieldCache heightCache = new HeightFieldCache();
+    private SubSampledNoise surfaceNoise;
+    private long seed;
     private int infernoHeight;
 
     public InfernoCeilingProvider(int height) {
@@ -42,6 +44,7 @@ public class InfernoCeilingProvider implements FacetProvider {
 
     @Override
     public void setSeed(long seed) {
+        this.seed = seed;
         surfaceNoise = new SubSampledNoise(new SimplexNoise(seed + 1), new Vector2f(0.003f, 0.003f), 1);
     }
 
@@ -51,12 +54,27 @@ public class InfernoCeilingProvider implements FacetProvider {
         InfernoCeilingHeightFacet ceilingHeightFacet = new InfernoCeilingHeightFacet(region.getRegion(), border);
         InfernoSurfaceHeightFacet surfaceHeightFacet = region.getRegionFacet(InfernoSurfaceHeightFacet.class);
         int baseSurfaceHeight = surfaceHeightFacet.getBaseSurfaceHeight();
+        // the noise lies in [-1, 1]
+        ceilingHeightFacet.setCeilingHeightBounds(infernoHeight - baseSurfaceHeight - CEILING_AMPLITUDE,
+                infernoHeight - baseSurfaceHeight + CEILING_AMPLITUDE);
 
         BlockAreac processRegion = ceilingHeightFacet.getWorldArea();
-        for (Vector2ic position : processRegion) {
-            ceilingHeightFacet.setWorld(position, surfaceNoise.noise(position.x(), position.y()) * 20 - baseSurfaceHeight + infernoHeight);
+        float[] cachedHeights = heightCache.get(seed, processRegion);
+        if (cachedHeights != null) {
+            ceilingHeightFacet.set(cachedHeights);
+        } else {
+            float[] heights = surfaceNoise.noise(processRegion);
+            for (int i = 0; i < heights.length; i++) {
+                heights[i] = heights[i] * CEILING_AMPLITUDE - baseSurfaceHeight + infernoHeight;
+            }
+            ceilingHeightFacet.set(heights);
+            heightCache.put(seed, processRegion, heights);
         }
 
         region.setRegionFacet(InfernoCeilingHeightFacet.class, ceilingHeightFacet);
     }
+
+    public HeightFieldCache getHeightCache() {
+        return heightCache;
+    }
 }
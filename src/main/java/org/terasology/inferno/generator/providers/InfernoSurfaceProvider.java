@@ -16,8 +16,6 @@
 package org.terasology.inferno.generator.providers;
 
 import org.joml.Vector2f;
-import org.joml.Vector2ic;
-import org.terasology.engine.utilities.procedural.Noise;
 import org.terasology.engine.utilities.procedural.SimplexNoise;
 import org.terasology.engine.utilities.procedural.SubSampledNoise;
 import org.terasology.engine.world.block.BlockAreac;
@@ -29,7 +27,9 @@ import org.terasology.inferno.generator.facets.InfernoSurfaceHeightFacet;
 
 @Produces(InfernoSurfaceHeightFacet.class)
 public class InfernoSurfaceProvider implements FacetProvider {
-    private Noise surfaceNoise;
+    private final HeightFieldCache heightCache = new HeightFieldCache();
+    private SubSampledNoise surfaceNoise;
+    private long seed;
     private int infernoDepth;
 
     public InfernoSurfaceProvider(int depth) {
@@ -38,6 +38,7 @@ public class InfernoSurfaceProvider implements FacetProvider {
 
     @Override
     public void setSeed(long seed) {
+        this.seed = seed;
         // -1 to 1
         surfaceNoise = new SubSampledNoise(new SimplexNoise(seed), new Vector2f(0.007f, 0.007f), 1);
     }
@@ -49,9 +50,22 @@ public class InfernoSurfaceProvider implements FacetProvider {
         facet.setBaseSurfaceHeight(infernoDepth);
 
         BlockAreac processRegion = facet.getWorldArea();
-        for (Vector2ic position: processRegion) {
-            facet.setWorld(position, surfaceNoise.noise(position.x(), position.y()) * 20 - infernoDepth);
+        float[] cachedHeights = heightCache.get(seed, processRegion);
+        if (cachedHeights != null) {
+            facet.set(cachedHeights);
+        } else {
+            // get noise in batch, the same values as sampling every column on its own but far cheaper
+            float[] heights = surfaceNoise.noise(processRegion);
+            for (int i = 0; i < heights.length; i++) {
+                heights[i] = heights[i] * 20 - infernoDepth;
+            }
+            facet.set(heights);
+            heightCache.put(seed, processRegion, heights);
         }
         region.setRegionFacet(InfernoSurfaceHeightFacet.class, facet);
     }
+
+    public HeightFieldCache getHeightCache() {
+        return heightCache;
+    }
 }
@@ -0,0 +1,78 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.inferno.generator.providers;
+
+import com.google.common.base.Preconditions;
+import org.joml.Vector2i;
+import org.joml.Vector2ic;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Divides the (x, z) plane into square cells and places one candidate point in each, at a position derived from the
+ * seed and the cell coordinates alone. Points keep a margin from the edges of their cell, so any two points are at
+ * least twice the margin apart along x or z.
+ * <p>
+ * Structure providers use it instead of testing white noise on every column: a point can be computed directly from
+ * its cell, so a provider only visits the cells overlapping its facet region.
+ */
+public class JitteredGrid {
+    private final long seed;
+    private final int cellSize;
+    private final int margin;
+
+    /**
+     * @param seed     the seed to derive the points from; providers should offset the world seed like their noises
+     * @param cellSize width of a cell, roughly the average distance between two points
+     * @param margin   the least distance between a point and the edges of its cell
+     */
+    public JitteredGrid(long seed, int cellSize, int margin) {
+        Preconditions.checkArgument(margin >= 0 && 2 * margin < cellSize,
+                "margin must be in [0, cellSize / 2): %s", margin);
+        this.seed = seed;
+        this.cellSize = cellSize;
+        this.margin = margin;
+    }
+
+    public int getCellSize() {
+        return cellSize;
+    }
+
+    /**
+     * @return the candidate point of every cell whose point lies within the given bounds, all inclusive
+     */
+    public List<Vector2ic> getPoints(int minX, int minZ, int maxX, int maxZ) {
+        List<Vector2ic> points = new ArrayList<>();
+        int fromCellX = Math.floorDiv(minX, cellSize);
+        int toCellX = Math.floorDiv(maxX, cellSize);
+        int fromCellZ = Math.floorDiv(minZ, cellSize);
+        int toCellZ = Math.floorDiv(maxZ, cellSize);
+        for (int cellZ = fromCellZ; cellZ <= toCellZ; cellZ++) {
+            for (int cellX = fromCellX; cellX <= toCellX; cellX++) {
+                long hash = hash(cellX, cellZ);
+                int jitterRange = cellSize - 2 * margin;
+                int x = cellX * cellSize + margin + (int) Math.floorMod(hash, (long) jitterRange);
+                int z = cellZ * cellSize + margin + (int) Math.floorMod(hash >>> 32, (long) jitterRange);
+                if (x >= minX && x <= maxX && z >= minZ && z <= maxZ) {
+                    points.add(new Vector2i(x, z));
+                }
+            }
+        }
+        return points;
+    }
+
+    private long hash(int cellX, int cellZ) {
+        return mix(seed + 0x9E3779B97F4A7C15L * cellX + 0xC2B2AE3D27D4EB4FL * cellZ);
+    }
+
+    /**
+     * SplitMix64 finalizer: spreads every bit of the input over the whole output, so inputs that differ by one in a
+     * coordinate give unrelated values.
+     */
+    static long mix(long h) {
+        h = (h ^ (h >>> 30)) * 0xBF58476D1CE4E5B9L;
+        h = (h ^ (h >>> 27)) * 0x94D049BB133111EBL;
+        return h ^ (h >>> 31);
+    }
+}
@@ -22,13 +22,21 @@ import org.terasology.engine.utilities.random.FastRandom;
 import org.terasology.engine.utilities.random.Random;
 import org.terasology.engine.world.block.BlockAreac;
 import org.terasology.engine.world.generation.Border3D;
+import org.terasology.engine.world.generation.Facet;
 import org.terasology.engine.world.generation.FacetProvider;
 import org.terasology.engine.world.generation.GeneratingRegion;
 import org.terasology.engine.world.generation.Produces;
+import org.terasology.engine.world.generation.Requires;
+import org.terasology.inferno.generator.facets.InfernoCeilingHeightFacet;
 import org.terasology.inferno.generator.facets.LavaFallsFacet;
+import org.terasology.inferno.generator.structures.Footprint;
 
 @Produces(LavaFallsFacet.class)
+@Requires(@Facet(InfernoCeilingHeightFacet.class))
 public class LavaFallsProvider implements FacetProvider {
+    // a lava fall covers up to two by two columns from the column it spawns at; the rasterizer only fills the columns
+    // themselves, so nothing reaches up or down into neighbouring regions
+    private static final Footprint LAVA_FALL_FOOTPRINT = new Footprint(1, 0, 0);
 
     private Noise spawnNoise;
     private Noise sizeNoise1;
@@ -49,8 +57,14 @@ public class LavaFallsProvider implements FacetProvider {
 
     @Override
     public void process(GeneratingRegion region) {
-        Border3D border = region.getBorderForFacet(LavaFallsFacet.class).extendBy(4, 4, 4);
+        Border3D border = LAVA_FALL_FOOTPRINT.extendBorder(region.getBorderForFacet(LavaFallsFacet.class));
         LavaFallsFacet facet = new LavaFallsFacet(region.getRegion(), border);
+        InfernoCeilingHeightFacet ceilingHeightFacet = region.getRegionFacet(InfernoCeilingHeightFacet.class);
+        if (ceilingHeightFacet.isAboveCeiling(region.getRegion(), LavaFallsFacet.LAVA_WELL_DEPTH)) {
+            // the stone border: no lava fall reaches this far up
+            region.setRegionFacet(LavaFallsFacet.class, facet);
+            return;
+        }
 
         BlockAreac processRegion = facet.getWorldArea();
         for (Vector2ic position : processRegion) {
@@ -61,16 +75,16 @@ public class LavaFallsProvider implements FacetProvider {
                 float noise4 = sizeNoise4.noise(position.x(), position.y());
 
                 if (noise1 > 0 && facet.getWorldArea().contains(position.x(), position.y())) {
-                    facet.setWorld(position.x(), position.y(), true);
+                    facet.addLavaFall(position.x(), position.y());
                 }
                 if (noise2 > 0 && facet.getWorldArea().contains(position.x() + 1, position.y())) {
-                    facet.setWorld(position.x() + 1, position.y(), true);
+                    facet.addLavaFall(position.x() + 1, position.y());
                 }
                 if (noise3 > 0 && facet.getWorldArea().contains(position.x() + 1, position.y() + 1)) {
-                    facet.setWorld(position.x() + 1, position.y() + 1, true);
+                    facet.addLavaFall(position.x() + 1, position.y() + 1);
                 }
                 if (noise4 > 0 && facet.getWorldArea().contains(position.x(), position.y() + 1)) {
-                    facet.setWorld(position.x(), position.y() + 1, true);
+                    facet.addLavaFall(position.x(), position.y() + 1);
                 }
 //                //float spawnColumn = random.nextFloat(0, 1);
 //                for (int l = 0; l <= x; l++) {
@@ -20,6 +20,7 @@ import org.joml.Vector2ic;
 import org.terasology.engine.math.Direction;
 import org.terasology.engine.utilities.procedural.Noise;
 import org.terasology.engine.utilities.procedural.WhiteNoise;
+import org.terasology.engine.world.block.BlockRegionc;
 import org.terasology.engine.world.generation.Border3D;
 import org.terasology.engine.world.generation.Facet;
 import org.terasology.engine.world.generation.FacetBorder;
@@ -38,25 +39,32 @@ import java.util.List;
 
 @Produces(LavaHutFacet.class)
 @Requires( {
-        @Facet(value = InfernoSurfaceHeightFacet.class, border = @FacetBorder(top = 15, bottom = 25, sides = 15)),
-        @Facet(InfernoCeilingHeightFacet.class),
+        @Facet(value = InfernoSurfaceHeightFacet.class, border = @FacetBorder(sides = LavaHut.MAX_REACH + LavaHutProvider.MIN_LAVA_PADDING)),
+        @Facet(value = InfernoCeilingHeightFacet.class, border = @FacetBorder(sides = LavaHut.MAX_REACH)),
         @Facet(LavaLevelFacet.class)
 })
 public class LavaHutProvider implements FacetProvider {
     private static final List<Direction> HORIZONTAL_DIRECTIONS = Lists.newArrayList(Direction.FORWARD, Direction.BACKWARD, Direction.LEFT, Direction.RIGHT);
     private static final int MIN_SPAWN_HEIGHT = 25;
-    private static final int MIN_LAVA_PADDING = 15;
+    static final int MIN_LAVA_PADDING = 15;
     private static final int MIN_HUT_HEIGHT = 5;
-    private static final int MAX_HUT_HEIGHT = 8;
+    private static final int MAX_HUT_HEIGHT = LavaHut.MAX_ELEVATION;
+    // one candidate hut per cell, as dense as the old white noise threshold of 0.998: WhiteNoise returns values in
+    // [-1, 1], so the cell size is round(sqrt(2 / (1 - threshold)))
+    private static final int CELL_SIZE = 32;
+    // keeps candidates of neighbouring cells at least half a cell apart
+    private static final int CELL_MARGIN = CELL_SIZE / 4;
 
+    private JitteredGrid spawnGrid;
     private Noise heightNoise;
-    private Noise spawnNoise;
     private Noise hutLengthNoise;
     private Noise dirNoise;
+    private long seed;
 
     @Override
     public void setSeed(long seed) {
-        spawnNoise = new WhiteNoise(seed + 51);
+        this.seed = seed;
+        spawnGrid = new JitteredGrid(seed + 51, CELL_SIZE, CELL_MARGIN);
         heightNoise = new WhiteNoise(seed + 52);
         hutLengthNoise = new WhiteNoise(seed + 53);
         dirNoise = new WhiteNoise(seed + 54);
@@ -64,23 +72,33 @@ public class LavaHutProvider implements FacetProvider {
 
     @Override
     public void process(GeneratingRegion region) {
-        Border3D border = region.getBorderForFacet(LavaHutFacet.class).extendBy(20, 30, 20);
+        Border3D border = LavaHut.FOOTPRINT.extendBorder(region.getBorderForFacet(LavaHutFacet.class));
         LavaLevelFacet lavaLevelFacet = region.getRegionFacet(LavaLevelFacet.class);
         InfernoSurfaceHeightFacet surfaceHeightFacet = region.getRegionFacet(InfernoSurfaceHeightFacet.class);
         InfernoCeilingHeightFacet ceilingHeightFacet = region.getRegionFacet(InfernoCeilingHeightFacet.class);
         LavaHutFacet lavaHutFacet = new LavaHutFacet(region.getRegion(), border);
 
         int lavaLevel = lavaLevelFacet.getLavaLevel();
-        for (Vector2ic position : surfaceHeightFacet.getWorldArea()) {
-            float ceilingHeight = ceilingHeightFacet.getWorld(position);
+        region.setRegionFacet(LavaHutFacet.class, lavaHutFacet);
+        if (ceilingHeightFacet.isAboveCeiling(lavaHutFacet.getWorldRegion(), 0)) {
+            // the stone border: huts stand on the lava, below the ceiling
+            return;
+        }
+        LavaMask belowLava = LavaMask.belowLava(surfaceHeightFacet, lavaLevel);
+        if (belowLava.isEmpty()) {
+            return;
+        }
+        // columns with lava MIN_LAVA_PADDING away in all four directions
+        LavaMask hutSites = belowLava.withPadding(MIN_LAVA_PADDING);
+
+        BlockRegionc worldRegion = lavaHutFacet.getWorldRegion();
+        for (Vector2ic position : spawnGrid.getPoints(worldRegion.minX(), worldRegion.minZ(), worldRegion.maxX(), worldRegion.maxZ())) {
+            if (!hutSites.get(position.x(), position.y())
+                    || ceilingHeightFacet.getWorld(position) - lavaLevel < MIN_SPAWN_HEIGHT) {
+                continue;
+            }
             float hutHeight = lavaLevel + TeraMath.clamp(Math.abs(heightNoise.noise(position.x(), position.y()) * MAX_HUT_HEIGHT), MIN_HUT_HEIGHT, MAX_HUT_HEIGHT);
-            if (isOverLava(surfaceHeightFacet, position.x() + MIN_LAVA_PADDING, position.y(), lavaLevel)
-                    && isOverLava(surfaceHeightFacet, position.x() - MIN_LAVA_PADDING, position.y(), lavaLevel)
-                    && isOverLava(surfaceHeightFacet, position.x(), position.y() + MIN_LAVA_PADDING, lavaLevel)
-                    && isOverLava(surfaceHeightFacet, position.x(), position.y() - MIN_LAVA_PADDING, lavaLevel)
-                    && ceilingHeight - lavaLevel >= MIN_SPAWN_HEIGHT
-                    && spawnNoise.noise(position.x(), position.y()) > 0.998
-                    && lavaHutFacet.getWorldRegion().contains(position.x(), (int) hutHeight, position.y())) {
+            if (worldRegion.contains(position.x(), (int) hutHeight, position.y())) {
                 // todo: not hardcoded
                 int hutLength;
                 float lengthNoiseVal = Math.abs(hutLengthNoise.noise(position.x(), position.y()));
@@ -95,14 +113,13 @@ public class LavaHutProvider implements FacetProvider {
                 lavaHut.setLength(hutLength);
                 int dirIndex = Math.abs(Math.round(dirNoise.noise(position.x(), position.y()) * (HORIZONTAL_DIRECTIONS.size() - 1)));
                 lavaHut.setHutDirection(HORIZONTAL_DIRECTIONS.get(dirIndex));
+                lavaHut.setSeed(getHutSeed(position.x(), (int) hutHeight, position.y()));
                 lavaHutFacet.setWorld(position.x(), (int) (hutHeight), position.y(), lavaHut);
             }
         }
-        region.setRegionFacet(LavaHutFacet.class, lavaHutFacet);
     }
 
-    private boolean isOverLava(InfernoSurfaceHeightFacet surfaceHeightFacet, int x, int y, int lavaLevel) {
-        return surfaceHeightFacet.getWorldArea().contains(x, y)
-                && surfaceHeightFacet.getWorld(x, y) < lavaLevel;
+    private long getHutSeed(int x, int y, int z) {
+        return JitteredGrid.mix(seed + 0x9E3779B97F4A7C15L * x + 0xC2B2AE3D27D4EB4FL * y + 0x165667B19E3779F9L * z);
     }
 }
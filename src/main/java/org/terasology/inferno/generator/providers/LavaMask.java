@@ -0,0 +1,100 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.inferno.generator.providers;
+
+import org.terasology.engine.world.block.BlockAreac;
+import org.terasology.inferno.generator.facets.InfernoSurfaceHeightFacet;
+
+/**
+ * One bit per column of a surface facet's area, set where the surface lies below the lava level. Rows run along x and
+ * are packed into longs, so whole rows can be shifted and combined 64 columns at a time.
+ */
+public final class LavaMask {
+    private final int minX;
+    private final int minZ;
+    private final int sizeX;
+    private final int sizeZ;
+    private final int wordsPerRow;
+    private final long[] words;
+
+    private LavaMask(int minX, int minZ, int sizeX, int sizeZ) {
+        this.minX = minX;
+        this.minZ = minZ;
+        this.sizeX = sizeX;
+        this.sizeZ = sizeZ;
+        this.wordsPerRow = (sizeX + 63) >>> 6;
+        this.words = new long[wordsPerRow * sizeZ];
+    }
+
+    /**
+     * @return a mask over the facet's world area, set where the surface is below the lava level
+     */
+    public static LavaMask belowLava(InfernoSurfaceHeightFacet surfaceHeightFacet, int lavaLevel) {
+        BlockAreac area = surfaceHeightFacet.getWorldArea();
+        LavaMask mask = new LavaMask(area.minX(), area.minY(), area.getSizeX(), area.getSizeY());
+        float[] heights = surfaceHeightFacet.getInternal();
+        for (int z = 0; z < mask.sizeZ; z++) {
+            int row = z * mask.wordsPerRow;
+            for (int x = 0; x < mask.sizeX; x++) {
+                if (heights[x + mask.sizeX * z] < lavaLevel) {
+                    mask.words[row + (x >>> 6)] |= 1L << x;
+                }
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * @return a mask over the same area, set where all four columns at the given distance along x and z are set in
+     *         this mask; columns whose neighbours fall outside the area are never set
+     */
+    public LavaMask withPadding(int padding) {
+        LavaMask result = new LavaMask(minX, minZ, sizeX, sizeZ);
+        for (int z = 0; z < sizeZ; z++) {
+            for (int w = 0; w < wordsPerRow; w++) {
+                int start = w << 6;
+                result.words[z * wordsPerRow + w] = bitsAt(z, start + padding)
+                        & bitsAt(z, start - padding)
+                        & bitsAt(z + padding, start)
+                        & bitsAt(z - padding, start);
+            }
+        }
+        return result;
+    }
+
+    public boolean isEmpty() {
+        for (long word : words) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return whether the column is set, false outside the area
+     */
+    public boolean get(int x, int z) {
+        int relX = x - minX;
+        int relZ = z - minZ;
+        if (relX < 0 || relX >= sizeX || relZ < 0 || relZ >= sizeZ) {
+            return false;
+        }
+        return (words[relZ * wordsPerRow + (relX >>> 6)] & (1L << relX)) != 0;
+    }
+
+    // the 64 bits of a row starting at the given relative x, zero outside the area
+    private long bitsAt(int z, int start) {
+        int wordIndex = Math.floorDiv(start, 64);
+        int bit = Math.floorMod(start, 64);
+        long low = word(z, wordIndex) >>> bit;
+        return bit == 0 ? low : low | word(z, wordIndex + 1) << (64 - bit);
+    }
+
+    private long word(int z, int wordIndex) {
+        if (z < 0 || z >= sizeZ || wordIndex < 0 || wordIndex >= wordsPerRow) {
+            return 0;
+        }
+        return words[z * wordsPerRow + wordIndex];
+    }
+}
@@ -0,0 +1,99 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.inferno.generator.providers;
+
+import org.joml.Vector3fc;
+import org.terasology.engine.world.block.BlockRegionc;
+
+/**
+ * Samples a {@link FastRidgedNoise} over a 3D region the way {@code SubSampledNoise} does: the noise is evaluated at key
+ * points every {@code sampleRate} blocks, aligned to world coordinates, and interpolated trilinearly in between.
+ * <p>
+ * All key points of a region go through {@link FastRidgedNoise#noise(float[], float[], float[], float[])} in one call
+ * instead of one noise call each. The key values are identical; the interpolated values match {@code SubSampledNoise}
+ * up to float rounding.
+ */
+public class SubSampledRidgedNoise {
+    private final FastRidgedNoise source;
+    private final float zoomX;
+    private final float zoomY;
+    private final float zoomZ;
+    private final int sampleRate;
+
+    /**
+     * @param source     the noise to sample
+     * @param zoom       the factor world coordinates are scaled by before they reach the noise
+     * @param sampleRate the distance between two key points along each axis
+     */
+    public SubSampledRidgedNoise(FastRidgedNoise source, Vector3fc zoom, int sampleRate) {
+        this.source = source;
+        this.zoomX = zoom.x();
+        this.zoomY = zoom.y();
+        this.zoomZ = zoom.z();
+        this.sampleRate = sampleRate;
+    }
+
+    /**
+     * @return the noise of every position of the region, x fastest, then y, then z
+     */
+    public float[] noise(BlockRegionc region) {
+        // the key points around the region: from the one at or below its minimum to the one above its maximum
+        int keyMinX = region.minX() - Math.floorMod(region.minX(), sampleRate);
+        int keyMinY = region.minY() - Math.floorMod(region.minY(), sampleRate);
+        int keyMinZ = region.minZ() - Math.floorMod(region.minZ(), sampleRate);
+        int keysX = (region.maxX() - keyMinX) / sampleRate + 2;
+        int keysY = (region.maxY() - keyMinY) / sampleRate + 2;
+        int keysZ = (region.maxZ() - keyMinZ) / sampleRate + 2;
+
+        int keyCount = keysX * keysY * keysZ;
+        float[] xs = new float[keyCount];
+        float[] ys = new float[keyCount];
+        float[] zs = new float[keyCount];
+        for (int z = 0; z < keysZ; z++) {
+            for (int y = 0; y < keysY; y++) {
+                for (int x = 0; x < keysX; x++) {
+                    int index = x + keysX * (y + keysY * z);
+                    xs[index] = (keyMinX + x * sampleRate) * zoomX;
+                    ys[index] = (keyMinY + y * sampleRate) * zoomY;
+                    zs[index] = (keyMinZ + z * sampleRate) * zoomZ;
+                }
+            }
+        }
+        float[] keys = new float[keyCount];
+        source.noise(xs, ys, zs, keys);
+
+        int sizeX = region.getSizeX();
+        int sizeY = region.getSizeY();
+        int sizeZ = region.getSizeZ();
+        float[] result = new float[sizeX * sizeY * sizeZ];
+        for (int z = 0; z < sizeZ; z++) {
+            int relZ = region.minZ() + z - keyMinZ;
+            int keyZ = relZ / sampleRate;
+            float tz = (float) (relZ % sampleRate) / sampleRate;
+            for (int y = 0; y < sizeY; y++) {
+                int relY = region.minY() + y - keyMinY;
+                int keyY = relY / sampleRate;
+                float ty = (float) (relY % sampleRate) / sampleRate;
+                int row0 = keysX * (keyY + keysY * keyZ);
+                int row1 = keysX * (keyY + 1 + keysY * keyZ);
+                int row2 = keysX * (keyY + keysY * (keyZ + 1));
+                int row3 = keysX * (keyY + 1 + keysY * (keyZ + 1));
+                for (int x = 0; x < sizeX; x++) {
+                    int relX = region.minX() + x - keyMinX;
+                    int keyX = relX / sampleRate;
+                    float tx = (float) (relX % sampleRate) / sampleRate;
+                    float x00 = lerp(tx, keys[row0 + keyX], keys[row0 + keyX + 1]);
+                    float x10 = lerp(tx, keys[row1 + keyX], keys[row1 + keyX + 1]);
+                    float x01 = lerp(tx, keys[row2 + keyX], keys[row2 + keyX + 1]);
+                    float x11 = lerp(tx, keys[row3 + keyX], keys[row3 + keyX + 1]);
+                    result[x + sizeX * (y + sizeY * z)] = lerp(tz, lerp(ty, x00, x10), lerp(ty, x01, x11));
+                }
+            }
+        }
+        return result;
+    }
+
+    private static float lerp(float t, float from, float to) {
+        return from + t * (to - from);
+    }
+}
@@ -2,6 +2,7 @@
 // SPDX-License-Identifier: Apache-2.0
 package org.terasology.inferno.generator.rasterizers;
 
+import org.joml.Vector3i;
 import org.joml.Vector3ic;
 import org.terasology.engine.registry.CoreRegistry;
 import org.terasology.engine.world.block.Block;
@@ -32,6 +33,9 @@ public class CaveRasterizer implements WorldRasterizer {
     @Override
     public void generateChunk(Chunk chunk, Region chunkRegion) {
         CaveFacet caveFacet = chunkRegion.getFacet(CaveFacet.class);
+        if (caveFacet.isEmpty()) {
+            return;
+        }
 
         BlockManager blockManager = CoreRegistry.get(BlockManager.class);
         Block caveBlock = blockManager.getBlock(BlockManager.AIR_ID);
@@ -39,9 +43,10 @@ public class CaveRasterizer implements WorldRasterizer {
             caveBlock = blockManager.getBlock(blockUri);
         }
 
-        for (Vector3ic position : Chunks.CHUNK_REGION) {
-            if (caveFacet.get(position)) {
-                chunk.setBlock(position, caveBlock);
+        Vector3i tempPos = new Vector3i();
+        for (Vector3ic position : caveFacet.getWorldPositions()) {
+            if (chunk.getRegion().contains(position)) {
+                chunk.setBlock(Chunks.toRelative(position, tempPos), caveBlock);
             }
         }
     }
@@ -15,22 +15,19 @@
  */
 package org.terasology.inferno.generator.rasterizers;
 
-import org.joml.Vector3i;
 import org.joml.Vector3ic;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.terasology.engine.registry.CoreRegistry;
 import org.terasology.engine.world.block.Block;
 import org.terasology.engine.world.block.BlockManager;
-import org.terasology.engine.world.block.BlockRegion;
+import org.terasology.engine.world.block.BlockRegionc;
 import org.terasology.engine.world.chunks.Chunk;
-import org.terasology.engine.world.chunks.Chunks;
 import org.terasology.engine.world.generation.Region;
 import org.terasology.engine.world.generation.WorldRasterizer;
 import org.terasology.inferno.generator.facets.InfernalTreeFacet;
 import org.terasology.inferno.generator.structures.InfernalTree;
 
-import java.util.List;
 import java.util.Map;
 
 public class InfernalTreeRasterizer implements WorldRasterizer {
@@ -48,34 +45,45 @@ public class InfernalTreeRasterizer implements WorldRasterizer {
     @Override
     public void generateChunk(Chunk chunk, Region chunkRegion) {
         InfernalTreeFacet treeFacet = chunkRegion.getFacet(InfernalTreeFacet.class);
+        BlockRegionc chunkBounds = chunk.getRegion();
 
         for (Map.Entry<Vector3ic, InfernalTree> entry : treeFacet.getWorldEntries().entrySet()) {
-            Vector3i pos = new Vector3i(entry.getKey());
-            Vector3i tempPos = new Vector3i();
+            Vector3ic pos = entry.getKey();
             InfernalTree tree = entry.getValue();
-            List<Integer> canopyLayers = tree.getCanopyLayers();
+            int radius = tree.getCanopyRadius();
+            // skip trees whose bounding box misses the chunk
+            if (pos.x() + radius < chunkBounds.minX() || pos.x() - radius > chunkBounds.maxX()
+                    || pos.z() + radius < chunkBounds.minZ() || pos.z() - radius > chunkBounds.maxZ()
+                    || pos.y() < chunkBounds.minY() || pos.y() - tree.getDepth() > chunkBounds.maxY()) {
+                continue;
+            }
 //            // no floating trees
 //            if (!chunkRegion.getRegion().encompasses(pos)) {
 //                continue;
 //            }
 
-            for (int height = 0; height < canopyLayers.size(); height++) {
-                int blocksFromTrunk = canopyLayers.get(height);
-                if (blocksFromTrunk < 0) {
+            int[] canopyLayers = tree.getCanopyLayers();
+            for (int height = 0; height < canopyLayers.length; height++) {
+                int y = pos.y() - height;
+                if (y < chunkBounds.minY() || y > chunkBounds.maxY()) {
                     continue;
                 }
-                Vector3i canopyStart = new Vector3i(pos.x() - blocksFromTrunk, pos.y() - height, pos.z() - blocksFromTrunk);
-                BlockRegion canopyLayerRegion = new BlockRegion(canopyStart).setSize(blocksFromTrunk * 2 + 1, 1, blocksFromTrunk * 2 + 1);
-                for (Vector3ic leafPos: canopyLayerRegion) {
-                    if (chunk.getRegion().contains(leafPos)) {
-                        chunk.setBlock(Chunks.toRelative(leafPos, tempPos), leafBlock);
+                int blocksFromTrunk = canopyLayers[height];
+                int minX = Math.max(pos.x() - blocksFromTrunk, chunkBounds.minX());
+                int maxX = Math.min(pos.x() + blocksFromTrunk, chunkBounds.maxX());
+                int minZ = Math.max(pos.z() - blocksFromTrunk, chunkBounds.minZ());
+                int maxZ = Math.min(pos.z() + blocksFromTrunk, chunkBounds.maxZ());
+                for (int z = minZ; z <= maxZ; z++) {
+                    for (int x = minX; x <= maxX; x++) {
+                        chunk.setBlock(x - chunkBounds.minX(), y - chunkBounds.minY(), z - chunkBounds.minZ(), leafBlock);
                     }
                 }
             }
-            for (int height = 0; height < tree.getTrunkHeight(); height++) {
-                Vector3i newPos = new Vector3i(pos).sub(0,height,0);
-                if (chunk.getRegion().contains(newPos)) {
-                    chunk.setBlock(Chunks.toRelative(newPos, tempPos), trunkBlock);
+            if (pos.x() >= chunkBounds.minX() && pos.x() <= chunkBounds.maxX() && pos.z() >= chunkBounds.minZ() && pos.z() <= chunkBounds.maxZ()) {
+                int minY = Math.max(pos.y() - tree.getTrunkHeight() + 1, chunkBounds.minY());
+                int maxY = Math.min(pos.y(), chunkBounds.maxY());
+                for (int y = minY; y <= maxY; y++) {
+                    chunk.setBlock(pos.x() - chunkBounds.minX(), y - chunkBounds.minY(), pos.z() - chunkBounds.minZ(), trunkBlock);
                 }
             }
         }
@@ -16,47 +16,58 @@
 package org.terasology.inferno.generator.rasterizers;
 
 import org.joml.Vector3i;
-import org.joml.Vector3ic;
 import org.terasology.engine.registry.CoreRegistry;
-import org.terasology.engine.utilities.random.FastRandom;
-import org.terasology.engine.utilities.random.Random;
 import org.terasology.engine.world.block.Block;
 import org.terasology.engine.world.block.BlockManager;
+import org.terasology.engine.world.block.BlockRegion;
 import org.terasology.engine.world.chunks.Chunk;
 import org.terasology.engine.world.chunks.Chunks;
 import org.terasology.engine.world.generation.Region;
 import org.terasology.engine.world.generation.WorldRasterizer;
 import org.terasology.inferno.generator.facets.FloraFacet;
+import org.terasology.inferno.generator.providers.FloraProvider;
 
 import java.util.LinkedHashMap;
 import java.util.Map;
 
 public class InfernoFloraRasterizer implements WorldRasterizer {
-    private Random random = new FastRandom();
     private Map<Block, Double> flora = new LinkedHashMap<>();
+    // the plant for each flora variant, see FloraProvider.VARIANT_RANGE
+    private Block[] floraByVariant;
 
     @Override
     public void initialize() {
         flora.put(CoreRegistry.get(BlockManager.class).getBlock("Inferno:FlamingFlower"), 0.45);
         flora.put(CoreRegistry.get(BlockManager.class).getBlock("Inferno:DevilShroom"), 0.45);
         flora.put(CoreRegistry.get(BlockManager.class).getBlock("Inferno:DeadBranch"), 0.1);
+
+        floraByVariant = new Block[FloraProvider.VARIANT_RANGE];
+        for (int variant = 0; variant < floraByVariant.length; variant++) {
+            floraByVariant[variant] = getFlora((variant + 0.5) / FloraProvider.VARIANT_RANGE);
+        }
     }
 
     @Override
     public void generateChunk(Chunk chunk, Region chunkRegion) {
         FloraFacet floraFacet = chunkRegion.getFacet(FloraFacet.class);
+        if (floraFacet.isEmpty()) {
+            return;
+        }
+        BlockRegion region = chunkRegion.getRegion();
         Vector3i tempPos = new Vector3i();
-        for (Vector3ic position : chunkRegion.getRegion()) {
-            if (floraFacet.getWorld(position)
-                    && chunk.getBlock(Chunks.toRelative(position.sub(0, 1, 0, tempPos), tempPos)).getURI() != BlockManager.AIR_ID) {
-                chunk.setBlock(Chunks.toRelative(position, tempPos), getRandomFlora());
+        for (int i = 0; i < floraFacet.getCount(); i++) {
+            int x = floraFacet.getWorldX(i);
+            int y = floraFacet.getWorldY(i);
+            int z = floraFacet.getWorldZ(i);
+            if (region.contains(x, y, z)
+                    && chunk.getBlock(Chunks.toRelative(tempPos.set(x, y - 1, z), tempPos)).getURI() != BlockManager.AIR_ID) {
+                chunk.setBlock(Chunks.toRelative(tempPos.set(x, y, z), tempPos), floraByVariant[floraFacet.getVariant(i)]);
             }
         }
     }
 
     // http://stackoverflow.com/a/9330667
-    private Block getRandomFlora() {
-        double rand = random.nextDouble(0, 1);
+    private Block getFlora(double rand) {
         double cumulativeProbability = 0.0;
         for (Map.Entry<Block, Double> entry : flora.entrySet()) {
             cumulativeProbability += entry.getValue();
@@ -15,11 +15,10 @@
  */
 package org.terasology.inferno.generator.rasterizers;
 
-import org.joml.Vector3i;
-import org.joml.Vector3ic;
 import org.terasology.engine.registry.CoreRegistry;
 import org.terasology.engine.world.block.Block;
 import org.terasology.engine.world.block.BlockManager;
+import org.terasology.engine.world.block.BlockRegion;
 import org.terasology.engine.world.chunks.Chunk;
 import org.terasology.engine.world.chunks.Chunks;
 import org.terasology.engine.world.generation.Region;
@@ -48,22 +47,56 @@ public class InfernoWorldRasterizer implements WorldRasterizer {
         InfernoCeilingHeightFacet ceilingFacet = chunkRegion.getFacet(InfernoCeilingHeightFacet.class);
         LavaLevelFacet lavaLevelFacet = chunkRegion.getFacet(LavaLevelFacet.class);
 
-        Vector3i tempPos = new Vector3i();
-        for (Vector3ic position : chunkRegion.getRegion()) {
-            float surfaceHeight = surfaceFacet.getWorld(position.x(), position.z());
-            float ceilingHeight = ceilingFacet.getWorld(position.x(), position.z());
+        BlockRegion region = chunkRegion.getRegion();
+        if (region.minY() > ceilingFacet.getMaxCeilingHeight()
+                && region.maxY() < ceilingFacet.getMinCeilingHeight() + INFERNO_BORDER) {
+            // above every possible ceiling and below the end of the border: solid stone, whatever the facets say
+            fillChunk(chunk, dirt);
+            return;
+        }
+
+        int lavaLevel = lavaLevelFacet.getLavaLevel();
+        for (int z = region.minZ(); z <= region.maxZ(); z++) {
+            for (int x = region.minX(); x <= region.maxX(); x++) {
+                float surfaceHeight = surfaceFacet.getWorld(x, z);
+                float ceilingHeight = ceilingFacet.getWorld(x, z);
+                // y <= surfaceHeight, y <= ceilingHeight and y < ceilingHeight + INFERNO_BORDER solved for integer y
+                int surfaceTop = (int) Math.floor(surfaceHeight);
+                int ceilingTop = (int) Math.floor(ceilingHeight);
+                int borderTop = (int) Math.ceil(ceilingHeight + INFERNO_BORDER) - 1;
 
-            if (position.y() > ceilingHeight && position.y() < ceilingHeight + INFERNO_BORDER) {
-                chunk.setBlock(Chunks.toRelative(position, tempPos), dirt);
-            } else if (position.y() <= ceilingHeight && position.y() > surfaceHeight) {
-                if (position.y() <= lavaLevelFacet.getLavaLevel()) {
-                    chunk.setBlock(Chunks.toRelative(position, tempPos), lava);
-                } else {
-                    chunk.setBlock(Chunks.toRelative(position, tempPos), air);
+                // ground
+                fillSpan(chunk, region, x, z, region.minY(), Math.min(surfaceTop, ceilingTop), dirt);
+                // lava ocean and the air above it, up to the ceiling
+                fillSpan(chunk, region, x, z, surfaceTop + 1, Math.min(ceilingTop, lavaLevel), lava);
+                fillSpan(chunk, region, x, z, Math.max(surfaceTop + 1, lavaLevel + 1), ceilingTop, air);
+                // stone border above the ceiling
+                fillSpan(chunk, region, x, z, ceilingTop + 1, borderTop, dirt);
+                // ground rising past the border
+                fillSpan(chunk, region, x, z, Math.max(ceilingTop, borderTop) + 1, surfaceTop, dirt);
+            }
+        }
+    }
+
+    private void fillChunk(Chunk chunk, Block block) {
+        for (int y = 0; y < Chunks.SIZE_Y; y++) {
+            for (int z = 0; z < Chunks.SIZE_Z; z++) {
+                for (int x = 0; x < Chunks.SIZE_X; x++) {
+                    chunk.setBlock(x, y, z, block);
                 }
-            } else if (position.y() <= surfaceHeight) {
-                chunk.setBlock(Chunks.toRelative(position, tempPos), dirt);
             }
         }
     }
+
+    /**
+     * Sets the block of every position from fromY to toY (inclusive) in one column, clipped to the chunk.
+     */
+    private void fillSpan(Chunk chunk, BlockRegion region, int x, int z, int fromY, int toY, Block block) {
+        int relativeX = x - region.minX();
+        int relativeZ = z - region.minZ();
+        int top = Math.min(toY, region.maxY()) - region.minY();
+        for (int y = Math.max(fromY, region.minY()) - region.minY(); y <= top; y++) {
+            chunk.setBlock(relativeX, y, relativeZ, block);
+        }
+    }
 }
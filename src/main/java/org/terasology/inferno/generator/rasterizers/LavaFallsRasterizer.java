@@ -15,26 +15,23 @@
  */
 package org.terasology.inferno.generator.rasterizers;
 
-import org.joml.Vector3i;
-import org.joml.Vector3ic;
+import org.joml.Vector2ic;
 import org.terasology.engine.registry.CoreRegistry;
-import org.terasology.engine.utilities.random.FastRandom;
-import org.terasology.engine.utilities.random.Random;
 import org.terasology.engine.world.block.Block;
 import org.terasology.engine.world.block.BlockManager;
+import org.terasology.engine.world.block.BlockRegion;
 import org.terasology.engine.world.chunks.Chunk;
-import org.terasology.engine.world.chunks.Chunks;
 import org.terasology.engine.world.generation.Region;
 import org.terasology.engine.world.generation.WorldRasterizer;
 import org.terasology.inferno.generator.facets.InfernoCeilingHeightFacet;
 import org.terasology.inferno.generator.facets.InfernoSurfaceHeightFacet;
 import org.terasology.inferno.generator.facets.LavaFallsFacet;
 
+import java.util.List;
+
 public class LavaFallsRasterizer implements WorldRasterizer {
-    private static final int LAVA_WELL_DEPTH = 10;
 
     private Block lava;
-    private Random random = new FastRandom();
 
     @Override
     public void initialize() {
@@ -44,18 +41,25 @@ public class LavaFallsRasterizer implements WorldRasterizer {
     @Override
     public void generateChunk(Chunk chunk, Region chunkRegion) {
         LavaFallsFacet lavaFallsFacet = chunkRegion.getFacet(LavaFallsFacet.class);
+        List<Vector2ic> lavaFallColumns = lavaFallsFacet.getLavaFallColumns();
+        if (lavaFallColumns.isEmpty()) {
+            return;
+        }
         InfernoSurfaceHeightFacet surfaceFacet = chunkRegion.getFacet(InfernoSurfaceHeightFacet.class);
         InfernoCeilingHeightFacet ceilingFacet = chunkRegion.getFacet(InfernoCeilingHeightFacet.class);
 
-        Vector3i tempPos = new Vector3i();
-        for (Vector3ic position : chunk.getRegion()) {
-            float surfaceHeight = surfaceFacet.getWorld(position.x(), position.z());
-            float ceilingHeight = ceilingFacet.getWorld(position.x(), position.z());
-
-            if (lavaFallsFacet.getWorld(position.x(), position.z())
-                    && position.y() > surfaceHeight - LAVA_WELL_DEPTH
-                    && position.y() < ceilingHeight + LAVA_WELL_DEPTH) {
-                chunk.setBlock(Chunks.toRelative(position, tempPos), lava);
+        BlockRegion region = chunkRegion.getRegion();
+        for (Vector2ic column : lavaFallColumns) {
+            int x = column.x();
+            int z = column.y();
+            if (x < region.minX() || x > region.maxX() || z < region.minZ() || z > region.maxZ()) {
+                continue;
+            }
+            // y > surfaceHeight - LAVA_WELL_DEPTH and y < ceilingHeight + LAVA_WELL_DEPTH solved for integer y
+            int bottom = Math.max(region.minY(), (int) Math.floor(surfaceFacet.getWorld(x, z) - LavaFallsFacet.LAVA_WELL_DEPTH) + 1);
+            int top = Math.min(region.maxY(), (int) Math.ceil(ceilingFacet.getWorld(x, z) + LavaFallsFacet.LAVA_WELL_DEPTH) - 1);
+            for (int y = bottom; y <= top; y++) {
+                chunk.setBlock(x - region.minX(), y - region.minY(), z - region.minZ(), lava);
             }
         }
     }
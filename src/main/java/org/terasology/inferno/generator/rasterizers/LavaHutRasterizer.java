@@ -15,23 +15,23 @@
  */
 package org.terasology.inferno.generator.rasterizers;
 
-import org.joml.Vector3i;
 import org.joml.Vector3ic;
 import org.terasology.engine.registry.CoreRegistry;
 import org.terasology.engine.utilities.random.FastRandom;
 import org.terasology.engine.utilities.random.Random;
 import org.terasology.engine.world.block.Block;
 import org.terasology.engine.world.block.BlockManager;
-import org.terasology.engine.world.block.BlockRegion;
+import org.terasology.engine.world.block.BlockRegionc;
 import org.terasology.engine.world.chunks.Chunk;
-import org.terasology.engine.world.chunks.Chunks;
 import org.terasology.engine.world.generation.Region;
 import org.terasology.engine.world.generation.WorldRasterizer;
 import org.terasology.inferno.generator.facets.LavaHutFacet;
 import org.terasology.inferno.generator.facets.LavaLevelFacet;
 import org.terasology.inferno.generator.structures.LavaHut;
+import org.terasology.inferno.generator.structures.LavaHutTemplate;
 
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class LavaHutRasterizer implements WorldRasterizer {
     // probabilities of blocks being placed/spawned - random placing mimics dilapidation
@@ -47,7 +47,8 @@ public class LavaHutRasterizer implements WorldRasterizer {
     private Block lowerBlock;
     private Block lowerBlockCracked;
     private Block lava;
-    private Random random = new FastRandom();
+    // compiled hut shapes by length, height and direction
+    private final Map<Integer, LavaHutTemplate> templates = new ConcurrentHashMap<>();
 
     @Override
     public void initialize() {
@@ -62,100 +63,84 @@ public class LavaHutRasterizer implements WorldRasterizer {
     public void generateChunk(Chunk chunk, Region chunkRegion) {
         LavaHutFacet lavaHutFacet = chunkRegion.getFacet(LavaHutFacet.class);
         LavaLevelFacet lavaLevelFacet = chunkRegion.getFacet(LavaLevelFacet.class);
+        int lavaLevel = lavaLevelFacet.getLavaLevel();
+        BlockRegionc chunkBounds = chunk.getRegion();
 
         for (Map.Entry<Vector3ic, LavaHut> entry : lavaHutFacet.getWorldEntries().entrySet()) {
-            Vector3i position = new Vector3i(entry.getKey());
+            Vector3ic position = entry.getKey();
             LavaHut lavaHut = entry.getValue();
-            if (lavaHut != null && chunk.getRegion().contains(position)) {
-                Vector3ic dirVector = lavaHut.getHutDirection().asVector3i();
-                int length = lavaHut.getLength();
-                int height = lavaHut.getHeight();
-                // since length is odd, fromCenter gets rounded down
-                int toOuterCenter = length / 2 + 1;
-                int toInnerCenter = length / 2;
+            if (lavaHut == null) {
+                continue;
+            }
+            LavaHutTemplate template = getTemplate(lavaHut);
+            if (position.x() + template.getMaxX() < chunkBounds.minX() || position.x() + template.getMinX() > chunkBounds.maxX()
+                    || position.z() + template.getMaxZ() < chunkBounds.minZ() || position.z() + template.getMinZ() > chunkBounds.maxZ()
+                    || position.y() + template.getMaxY() < chunkBounds.minY() || Math.min(position.y(), lavaLevel) > chunkBounds.maxY()) {
+                continue;
+            }
+            stamp(chunk, chunkBounds, template, position, lavaLevel, lavaHut.getSeed());
+        }
+    }
 
-                // platform
-                BlockRegion platformRegion = new BlockRegion(position).expand(toOuterCenter, 0, toOuterCenter);
-                BlockRegion backPlatformRegion = new BlockRegion(position.add(new Vector3i(dirVector).mul(toOuterCenter))).expand(0, 0, toOuterCenter);
-                if (!isEncompassed(platformRegion, chunkRegion.getRegion())) {
-                    continue;
-                }
-                Vector3i tempPos = new Vector3i();
-                for (Vector3ic blockPos : platformRegion) {
-                    float platformBlockProb = random.nextFloat();
-                    if (chunkRegion.getRegion().contains(blockPos) && !backPlatformRegion.contains(blockPos) && platformBlockProb <= PLATFORM_BLOCK_PROB) {
-                        chunk.setBlock(Chunks.toRelative(blockPos, tempPos), topBlock);
-                    }
-                }
+    private LavaHutTemplate getTemplate(LavaHut lavaHut) {
+        int key = (lavaHut.getLength() << 16) | (lavaHut.getHeight() << 8) | lavaHut.getHutDirection().ordinal();
+        return templates.computeIfAbsent(key, k -> LavaHutTemplate.compile(lavaHut.getLength(), lavaHut.getHeight(), lavaHut.getHutDirection()));
+    }
 
-                // walls except top layer
-                Vector3i outerMin = new Vector3i(position).sub(toInnerCenter, 0, toInnerCenter);
-                BlockRegion outerWallRegion = new BlockRegion(outerMin).setSize(length, height, length);
-                Vector3i innerMin = new Vector3i(outerMin).add(1, 0, 1);
-                BlockRegion innerWallRegion = new BlockRegion(innerMin).setSize(length - 2, height + 2, length - 2);
-                for (Vector3ic blockPosition : outerWallRegion) {
-                    Vector3i blockPos = new Vector3i(blockPosition);
-                    if (chunkRegion.getRegion().contains(blockPos) && !innerWallRegion.contains(blockPos) && random.nextFloat() <= WALL_BLOCK_PROB) {
-                        placeWithProbability(chunk, blockPos, topBlockCracked, topBlock, UPPER_CRACKED_BLOCK_PROB);
+    /**
+     * Places the part of a hut that lies within the chunk. The random numbers are drawn for the whole template in the
+     * same order for every chunk, so a hut crossing chunk borders continues seamlessly.
+     */
+    private void stamp(Chunk chunk, BlockRegionc chunkBounds, LavaHutTemplate template, Vector3ic position, int lavaLevel, long seed) {
+        // seeded per hut, so the same blocks crumble whichever thread or order generates the chunk
+        Random random = new FastRandom(seed);
+        int upperStiltY = position.y() + template.getHeight();
+        for (int i = 0; i < template.size(); i++) {
+            int x = position.x() + template.getX(i);
+            int y = position.y() + template.getY(i);
+            int z = position.z() + template.getZ(i);
+            switch (template.getKind(i)) {
+                case LavaHutTemplate.PLATFORM:
+                    if (random.nextFloat() <= PLATFORM_BLOCK_PROB) {
+                        setBlock(chunk, chunkBounds, x, y, z, topBlock);
                     }
-                }
-                // lava columns
-                BlockRegion topOuterWallRegion = new BlockRegion(innerMin.add(0, height - 1, 0)).setSize(length - 2, 1, length - 2);
-                BlockRegion topInnerWallRegion = new BlockRegion(innerMin.add(1, height - 1, 1)).setSize(length - 3, 1, length - 3);
-                for (Vector3ic blockPos : topOuterWallRegion) {
-                    if (chunkRegion.getRegion().contains(blockPos) && !topInnerWallRegion.contains(blockPos) && random.nextFloat() <= LAVA_SPAWN_PROB) {
-                        Vector3i lavaPos = new Vector3i(blockPos);
-                        while (chunk.getRegion().contains(lavaPos) && lavaPos.y() >= lavaLevelFacet.getLavaLevel()) {
-                            chunk.setBlock(Chunks.toRelative(lavaPos, new Vector3i()), lava);
-                            lavaPos.sub(0,1,0);
-                        }
+                    break;
+                case LavaHutTemplate.WALL:
+                    if (random.nextFloat() <= WALL_BLOCK_PROB) {
+                        setBlock(chunk, chunkBounds, x, y, z, pick(random, topBlockCracked, topBlock, UPPER_CRACKED_BLOCK_PROB));
                     }
-                }
-
-                // top layer
-                BlockRegion topLayerWallRegion = new BlockRegion(position.add(0,height,0)).expand(toInnerCenter, 0, toInnerCenter);
-                for (Vector3ic blockPosition : topLayerWallRegion) {
-                    Vector3i blockPos = new Vector3i(blockPosition);
-                    if (chunkRegion.getRegion().contains(blockPos) && !innerWallRegion.contains(blockPos) && random.nextFloat() <= WALL_TOP_BLOCK_PROB) {
-                        placeWithProbability(chunk, blockPos, topBlockCracked, topBlock, UPPER_CRACKED_BLOCK_PROB);
+                    break;
+                case LavaHutTemplate.ROOF:
+                    if (random.nextFloat() <= WALL_TOP_BLOCK_PROB) {
+                        setBlock(chunk, chunkBounds, x, y, z, pick(random, topBlockCracked, topBlock, UPPER_CRACKED_BLOCK_PROB));
                     }
-                }
-
-                // stilts
-                Vector3i stiltsCenter = new Vector3i(position).add(0,height - 1,0);
-                Block stiltBlock;
-                while (chunkRegion.getRegion().contains(stiltsCenter) && stiltsCenter.y() >= lavaLevelFacet.getLavaLevel()) {
-                    if (stiltsCenter.y() >= position.y()) {
-                        chunk.setBlock(Chunks.toRelative(stiltsCenter.add(toInnerCenter, 0, toInnerCenter, tempPos), tempPos), topBlock);
-                        chunk.setBlock(Chunks.toRelative(stiltsCenter.add(-toInnerCenter, 0, toInnerCenter, tempPos), tempPos), topBlock);
-                        chunk.setBlock(Chunks.toRelative(stiltsCenter.add(toInnerCenter, 0, -toInnerCenter, tempPos), tempPos), topBlock);
-                        chunk.setBlock(Chunks.toRelative(stiltsCenter.add(-toInnerCenter, 0, -toInnerCenter, tempPos), tempPos), topBlock);
-                    } else {
-                        placeWithProbability(chunk, stiltsCenter.add(toInnerCenter, 0, toInnerCenter, tempPos), lowerBlockCracked, lowerBlock, LOWER_CRACKED_BLOCK_PROB);
-                        placeWithProbability(chunk, stiltsCenter.add(-toInnerCenter, 0, toInnerCenter, tempPos), lowerBlockCracked, lowerBlock, LOWER_CRACKED_BLOCK_PROB);
-                        placeWithProbability(chunk, stiltsCenter.add(toInnerCenter, 0, -toInnerCenter, tempPos), lowerBlockCracked, lowerBlock, LOWER_CRACKED_BLOCK_PROB);
-                        placeWithProbability(chunk, stiltsCenter.add(-toInnerCenter, 0, -toInnerCenter, tempPos), lowerBlockCracked, lowerBlock, LOWER_CRACKED_BLOCK_PROB);
+                    break;
+                case LavaHutTemplate.LAVA:
+                    if (random.nextFloat() <= LAVA_SPAWN_PROB) {
+                        for (int lavaY = y; lavaY >= lavaLevel; lavaY--) {
+                            setBlock(chunk, chunkBounds, x, lavaY, z, lava);
+                        }
                     }
-                    stiltsCenter.sub(0,1,0);
-                }
+                    break;
+                case LavaHutTemplate.STILT:
+                    for (int stiltY = y; stiltY >= lavaLevel; stiltY--) {
+                        Block stiltBlock = stiltY >= upperStiltY ? topBlock : pick(random, lowerBlockCracked, lowerBlock, LOWER_CRACKED_BLOCK_PROB);
+                        setBlock(chunk, chunkBounds, x, stiltY, z, stiltBlock);
+                    }
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown hut template entry " + template.getKind(i));
             }
         }
     }
 
-    private boolean isEncompassed(BlockRegion checkRegion, BlockRegion chunkRegion) {
-        for (Vector3ic pos : checkRegion) {
-            if (!chunkRegion.contains(pos)) {
-                return false;
-            }
+    private static void setBlock(Chunk chunk, BlockRegionc chunkBounds, int x, int y, int z, Block block) {
+        if (chunkBounds.contains(x, y, z)) {
+            chunk.setBlock(x - chunkBounds.minX(), y - chunkBounds.minY(), z - chunkBounds.minZ(), block);
         }
-        return true;
     }
 
-    private void placeWithProbability(Chunk chunk, Vector3i pos, Block block1, Block block2, float prob) {
-        if (random.nextFloat() <= prob) {
-            chunk.setBlock(Chunks.toRelative(pos, new Vector3i()), block1);
-        } else {
-            chunk.setBlock(Chunks.toRelative(pos, new Vector3i()), block2);
-        }
+    private static Block pick(Random random, Block block1, Block block2, float prob) {
+        return random.nextFloat() <= prob ? block1 : block2;
     }
 }
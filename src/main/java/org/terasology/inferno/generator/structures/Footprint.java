@@ -0,0 +1,53 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.inferno.generator.structures;
+
+import org.terasology.engine.world.generation.Border3D;
+
+/**
+ * The furthest a structure reaches from the position it is stored at in its facet.
+ * <p>
+ * A provider extends its facet border by the footprint, so the facet holds every structure that can reach into the
+ * region and none that cannot.
+ */
+public final class Footprint {
+    private final int sides;
+    private final int below;
+    private final int above;
+
+    /**
+     * @param sides how far the structure reaches along x and z, in either direction
+     * @param below how far it reaches below its position
+     * @param above how far it reaches above its position
+     */
+    public Footprint(int sides, int below, int above) {
+        this.sides = sides;
+        this.below = below;
+        this.above = above;
+    }
+
+    public int getSides() {
+        return sides;
+    }
+
+    public int getBelow() {
+        return below;
+    }
+
+    public int getAbove() {
+        return above;
+    }
+
+    /**
+     * Structures above the region reach down into it and structures below reach up, so the part reaching below
+     * becomes the top border and vice versa.
+     */
+    public Border3D extendBorder(Border3D border) {
+        return border.extendBy(below, above, sides);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Footprint(sides = %d, below = %d, above = %d)", sides, below, above);
+    }
+}
@@ -15,22 +15,55 @@
  */
 package org.terasology.inferno.generator.structures;
 
-import java.util.List;
-
+/**
+ * A tree hanging down from the ceiling: a trunk below its base block and square canopy layers around it.
+ */
 public class InfernalTree {
+    public static final int MIN_TRUNK_HEIGHT = 4;
+    public static final int MAX_TRUNK_HEIGHT = 6;
+    // widest canopy layer of the tallest tree, see InfernalTreeProvider.generateCanopy
+    public static final int MAX_CANOPY_RADIUS = MAX_TRUNK_HEIGHT - (MAX_TRUNK_HEIGHT / 2 + 1) + 1;
+    public static final Footprint FOOTPRINT = new Footprint(MAX_CANOPY_RADIUS, MAX_TRUNK_HEIGHT, 0);
+
     private int trunkHeight;
-    private List<Integer> canopyLayers;
+    private int[] canopyLayers;
+    private int canopyRadius;
 
-    public InfernalTree(int trunkHeight, List<Integer> canopyLayers) {
+    /**
+     * @param trunkHeight  number of trunk blocks below and including the base
+     * @param canopyLayers the canopy radius at each depth below the base, 0 for the trunk only; kept by reference
+     *                     so trees of the same height can share it
+     */
+    public InfernalTree(int trunkHeight, int[] canopyLayers) {
         this.trunkHeight = trunkHeight;
         this.canopyLayers = canopyLayers;
+        for (int radius : canopyLayers) {
+            canopyRadius = Math.max(canopyRadius, radius);
+        }
     }
 
     public int getTrunkHeight() {
         return trunkHeight;
     }
 
-    public List<Integer> getCanopyLayers() {
+    /**
+     * @return the canopy radius at each depth below the base; must not be modified
+     */
+    public int[] getCanopyLayers() {
         return canopyLayers;
     }
+
+    /**
+     * @return how far the tree reaches from its base along x and z
+     */
+    public int getCanopyRadius() {
+        return canopyRadius;
+    }
+
+    /**
+     * @return how far the tree reaches below its base
+     */
+    public int getDepth() {
+        return Math.max(trunkHeight, canopyLayers.length) - 1;
+    }
 }
@@ -18,9 +18,19 @@ package org.terasology.inferno.generator.structures;
 import org.terasology.engine.math.Direction;
 
 public class LavaHut {
+    public static final int DEFAULT_HEIGHT = 4;
+    public static final int MAX_LENGTH = 9;
+    // highest a hut sits above the lava level; its stilts and lava columns reach down to the lava
+    public static final int MAX_ELEVATION = 8;
+    // the walls sit one platform radius towards the hut direction from the hut position
+    public static final int MAX_REACH = 2 * (MAX_LENGTH / 2) + 1;
+    // the stilts stick out above the roof
+    public static final Footprint FOOTPRINT = new Footprint(MAX_REACH, MAX_ELEVATION, 2 * DEFAULT_HEIGHT - 1);
+
     public int length;
-    public int height = 4;
+    public int height = DEFAULT_HEIGHT;
     public Direction hutDirection;
+    public long seed;
 
     public int getLength() {
         return length;
@@ -42,4 +52,15 @@ public class LavaHut {
         this.hutDirection = dir;
     }
 
+    /**
+     * @return the seed for the dilapidation of this hut, derived from the world seed and the hut's position
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
 }
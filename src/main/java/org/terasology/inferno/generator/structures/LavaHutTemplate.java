@@ -0,0 +1,170 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.inferno.generator.structures;
+
+import org.joml.Vector3ic;
+import org.terasology.engine.math.Direction;
+
+import java.util.Arrays;
+
+/**
+ * The shape of one lava hut variant, compiled once into flat arrays of block offsets relative to the hut position.
+ * <p>
+ * Each entry has a {@link #getKind(int) kind} that tells the rasterizer which blocks to pick and with which
+ * probability. Entries of kind {@link #LAVA} and {@link #STILT} are the top of a column that continues down to the
+ * lava level, which is only known per hut.
+ * <p>
+ * Platform, walls, lava and roof sit one platform radius towards the hut direction from the platform center, and the
+ * stilts start below the roof and stick out above it, as the rasterizer always built them.
+ */
+public final class LavaHutTemplate {
+    public static final byte PLATFORM = 0;
+    public static final byte WALL = 1;
+    public static final byte LAVA = 2;
+    public static final byte ROOF = 3;
+    public static final byte STILT = 4;
+
+    private final int height;
+    private int[] offsets = new int[3 * 64];
+    private byte[] kinds = new byte[64];
+    private int count;
+    private int minX;
+    private int maxX;
+    private int maxY;
+    private int minZ;
+    private int maxZ;
+
+    private LavaHutTemplate(int height) {
+        this.height = height;
+    }
+
+    /**
+     * Builds the template for a hut. The result only depends on the arguments and is meant to be cached.
+     */
+    public static LavaHutTemplate compile(int length, int height, Direction direction) {
+        LavaHutTemplate template = new LavaHutTemplate(height);
+        Vector3ic dir = direction.asVector3i();
+        // since length is odd, fromCenter gets rounded down
+        int toOuterCenter = length / 2 + 1;
+        int toInnerCenter = length / 2;
+        int wallX = dir.x() * toOuterCenter;
+        int wallZ = dir.z() * toOuterCenter;
+
+        // platform, without the strip at the back
+        for (int z = -toOuterCenter; z <= toOuterCenter; z++) {
+            for (int x = -toOuterCenter; x <= toOuterCenter; x++) {
+                if (x != wallX || z < wallZ - toOuterCenter || z > wallZ + toOuterCenter) {
+                    template.add(x, 0, z, PLATFORM);
+                }
+            }
+        }
+        // walls except top layer
+        for (int y = 0; y < height; y++) {
+            template.addRing(wallX, y, wallZ, toInnerCenter, WALL);
+        }
+        // lava columns
+        for (int z = wallZ - toInnerCenter + 1; z <= wallZ + toInnerCenter - 1; z++) {
+            for (int x = wallX - toInnerCenter + 1; x <= wallX + toInnerCenter - 1; x++) {
+                template.add(x, height - 1, z, LAVA);
+            }
+        }
+        // top layer
+        template.addRing(wallX, height, wallZ, toInnerCenter, ROOF);
+        // stilts
+        template.add(wallX + toInnerCenter, 2 * height - 1, wallZ + toInnerCenter, STILT);
+        template.add(wallX - toInnerCenter, 2 * height - 1, wallZ + toInnerCenter, STILT);
+        template.add(wallX + toInnerCenter, 2 * height - 1, wallZ - toInnerCenter, STILT);
+        template.add(wallX - toInnerCenter, 2 * height - 1, wallZ - toInnerCenter, STILT);
+
+        template.offsets = Arrays.copyOf(template.offsets, 3 * template.count);
+        template.kinds = Arrays.copyOf(template.kinds, template.count);
+        return template;
+    }
+
+    private void addRing(int centerX, int y, int centerZ, int radius, byte kind) {
+        for (int z = centerZ - radius; z <= centerZ + radius; z++) {
+            for (int x = centerX - radius; x <= centerX + radius; x++) {
+                if (Math.abs(x - centerX) == radius || Math.abs(z - centerZ) == radius) {
+                    add(x, y, z, kind);
+                }
+            }
+        }
+    }
+
+    private void add(int x, int y, int z, byte kind) {
+        if (count == kinds.length) {
+            kinds = Arrays.copyOf(kinds, 2 * count);
+            offsets = Arrays.copyOf(offsets, 6 * count);
+        }
+        offsets[3 * count] = x;
+        offsets[3 * count + 1] = y;
+        offsets[3 * count + 2] = z;
+        kinds[count] = kind;
+        if (count == 0 || x < minX) {
+            minX = x;
+        }
+        if (count == 0 || x > maxX) {
+            maxX = x;
+        }
+        if (count == 0 || y > maxY) {
+            maxY = y;
+        }
+        if (count == 0 || z < minZ) {
+            minZ = z;
+        }
+        if (count == 0 || z > maxZ) {
+            maxZ = z;
+        }
+        count++;
+    }
+
+    /**
+     * @return the height of the hut walls; stilt blocks at or above this offset use the upper wall blocks
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public int getX(int index) {
+        return offsets[3 * index];
+    }
+
+    public int getY(int index) {
+        return offsets[3 * index + 1];
+    }
+
+    public int getZ(int index) {
+        return offsets[3 * index + 2];
+    }
+
+    public byte getKind(int index) {
+        return kinds[index];
+    }
+
+    public int getMinX() {
+        return minX;
+    }
+
+    public int getMaxX() {
+        return maxX;
+    }
+
+    /**
+     * @return the highest offset of the template; the lowest is 0 or the lava level, whichever is lower
+     */
+    public int getMaxY() {
+        return maxY;
+    }
+
+    public int getMinZ() {
+        return minZ;
+    }
+
+    public int getMaxZ() {
+        return maxZ;
+    }
+}
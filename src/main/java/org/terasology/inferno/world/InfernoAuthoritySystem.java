@@ -15,24 +15,213 @@
  */
 package org.terasology.inferno.world;
 
+import org.joml.Vector3f;
+import org.joml.Vector3i;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.engine.entitySystem.entity.EntityBuilder;
 import org.terasology.engine.entitySystem.entity.EntityManager;
 import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.engine.entitySystem.event.EventPriority;
+import org.terasology.engine.entitySystem.event.Priority;
 import org.terasology.engine.entitySystem.systems.BaseComponentSystem;
 import org.terasology.engine.entitySystem.systems.RegisterMode;
 import org.terasology.engine.entitySystem.systems.RegisterSystem;
+import org.terasology.engine.entitySystem.systems.UpdateSubscriberSystem;
+import org.terasology.engine.logic.characters.CharacterComponent;
+import org.terasology.engine.logic.characters.CharacterTeleportEvent;
 import org.terasology.engine.logic.chat.ChatMessageEvent;
+import org.terasology.engine.logic.health.BeforeDestroyEvent;
+import org.terasology.engine.logic.health.DestroyEvent;
+import org.terasology.engine.logic.location.LocationComponent;
 import org.terasology.engine.logic.players.event.OnPlayerSpawnedEvent;
 import org.terasology.engine.registry.In;
+import org.terasology.engine.world.RelevanceRegionComponent;
+import org.terasology.engine.world.WorldProvider;
+import org.terasology.engine.world.block.BlockRegion;
+import org.terasology.engine.world.generator.WorldGenerator;
 import org.terasology.gestalt.entitysystem.event.ReceiveEvent;
+import org.terasology.module.health.events.RestoreFullHealthEvent;
 import org.terasology.module.inventory.components.InventoryComponent;
 import org.terasology.module.inventory.systems.InventoryManager;
+import org.terasology.module.inventory.systems.InventoryUtils;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Resurrects characters carrying a Resurrection Idol in the Inferno. The spawn is resolved here, once for all players,
+ * and shared through the spawn index; clients only receive an {@link InfernoResurrectedEvent} and never run the world
+ * generator themselves.
+ * <p>
+ * Deaths are not searched for one by one: those within {@link #COALESCE_WINDOW} seconds of each other and no more than
+ * {@link #COALESCE_DISTANCE} blocks apart along x and z share a single search, which hands each character its own
+ * spawn next to the others. A group wiped out together so costs about one generation pass.
+ * <p>
+ * Once the spawn is known, an anchor entity there makes the chunks around it relevant. The character stays dead until
+ * they are loaded, or for {@link #TELEPORT_TIMEOUT_MILLIS} at the most, and only then uses up the idol and is
+ * teleported.
+ */
 @RegisterSystem(RegisterMode.AUTHORITY)
-public class InfernoAuthoritySystem extends BaseComponentSystem {
+public class InfernoAuthoritySystem extends BaseComponentSystem implements UpdateSubscriberSystem {
+    private static final float COALESCE_WINDOW = 0.25f;
+    private static final int COALESCE_DISTANCE = 64;
+    private static final int MAX_SEARCH_ATTEMPTS = 3;
+    private static final long TELEPORT_TIMEOUT_MILLIS = 10000;
+    // chunks loaded around the spawn before teleporting, and the blocks around it that must be loaded
+    private static final Vector3i SPAWN_RELEVANCE_DISTANCE = new Vector3i(2, 1, 2);
+    private static final Vector3i SPAWN_READY_EXTENT = new Vector3i(1, 2, 1);
+
     @In
     InventoryManager inventoryManager;
     @In
     EntityManager entityManager;
+    @In
+    WorldProvider worldProvider;
+    @In
+    WorldGenerator worldGenerator;
+
+    private Logger logger = LoggerFactory.getLogger(InfernoAuthoritySystem.class);
+
+    private Map<EntityRef, QueuedTeleport> teleportQueue = new HashMap<>();
+    private int teleportCount;
+    private long totalTeleportWaitMillis;
+    private long maxTeleportWaitMillis;
+    // deaths waiting for the coalescing window to close
+    private List<SpawnRequest> waitingRequests = new ArrayList<>();
+    private float waitingTime;
+    // spawn searches still running on the search thread, one per group of deaths
+    private List<PendingSpawn> pendingSpawns = new ArrayList<>();
+    // characters between their death and their resurrection, so further deaths in between neither use up another idol
+    // nor request another spawn
+    private Set<EntityRef> awaitingSpawn = new HashSet<>();
+    // characters whose death is being sent again because no spawn was found
+    private Set<EntityRef> releasedDeaths = new HashSet<>();
+    private ExecutorService spawnSearchExecutor;
+    private InfernoSpawnSearch spawnSearch = new InfernoSpawnSearch();
+    private InfernoSpawnIndex spawnIndex = new InfernoSpawnIndex();
+
+    @Override
+    public void initialize() {
+        spawnSearchExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Inferno-spawn-search");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void postBegin() {
+        InfernoSpawnIndexComponent savedIndex = worldProvider.getWorldEntity().getComponent(InfernoSpawnIndexComponent.class);
+        if (savedIndex != null) {
+            spawnIndex.load(savedIndex);
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        spawnSearchExecutor.shutdownNow();
+        waitingRequests.clear();
+        pendingSpawns.clear();
+        awaitingSpawn.clear();
+        for (QueuedTeleport teleport : teleportQueue.values()) {
+            teleport.anchor.destroy();
+        }
+        teleportQueue.clear();
+    }
+
+    @Override
+    public void update(float delta) {
+        if (!waitingRequests.isEmpty()) {
+            waitingTime += delta;
+            if (waitingTime >= COALESCE_WINDOW) {
+                submitSearches();
+            }
+        }
+        if (!pendingSpawns.isEmpty()) {
+            List<PendingSpawn> retries = new ArrayList<>();
+            Iterator<PendingSpawn> pendingIt = pendingSpawns.iterator();
+            while (pendingIt.hasNext()) {
+                PendingSpawn pending = pendingIt.next();
+                if (pending.search.isDone()) {
+                    pendingIt.remove();
+                    InfernoSpawnSearch.Result result = getSearchResult(pending.search);
+                    if (result == null && pending.attempt < MAX_SEARCH_ATTEMPTS) {
+                        retries.add(submitSearch(pending.requests, pending.center, pending.attempt + 1));
+                    } else {
+                        resolveSpawns(pending, result);
+                    }
+                }
+            }
+            pendingSpawns.addAll(retries);
+        }
+        if (!teleportQueue.isEmpty()) {
+            long now = System.currentTimeMillis();
+            Iterator<Map.Entry<EntityRef, QueuedTeleport>> teleportIt = teleportQueue.entrySet().iterator();
+            while (teleportIt.hasNext()) {
+                Map.Entry<EntityRef, QueuedTeleport> entry = teleportIt.next();
+                EntityRef character = entry.getKey();
+                QueuedTeleport teleport = entry.getValue();
+                long waitMillis = now - teleport.queuedAt;
+                if (!character.exists()) {
+                    teleport.anchor.destroy();
+                    teleportIt.remove();
+                    awaitingSpawn.remove(character);
+                } else if (isSpawnReady(teleport.target) || waitMillis >= TELEPORT_TIMEOUT_MILLIS) {
+                    if (waitMillis >= TELEPORT_TIMEOUT_MILLIS) {
+                        logger.warn("Chunks around the Inferno spawn {} are still not loaded after {} ms, teleporting anyway", teleport.target, waitMillis);
+                    }
+                    resurrect(character, teleport.item, teleport.target);
+                    teleport.anchor.destroy();
+                    teleportIt.remove();
+                    awaitingSpawn.remove(character);
+                    reportTeleportWait(waitMillis);
+                }
+            }
+        }
+    }
+
+    @Priority(EventPriority.PRIORITY_HIGH)
+    @ReceiveEvent
+    public void onDeath(BeforeDestroyEvent event, EntityRef character, CharacterComponent characterComponent,
+                        LocationComponent locationComponent) {
+        if (releasedDeaths.contains(character)) {
+            return;
+        }
+        EntityRef item = EntityRef.NULL;
+        boolean resurrect = false;
+        for (int i = 0; i < InventoryUtils.getSlotCount(character); i++) {
+            if (InventoryUtils.getItemAt(character, i).hasComponent(InfernoResurrectComponent.class)) {
+                resurrect = true;
+                item = InventoryUtils.getItemAt(character, i);
+                break;
+            }
+        }
+        if (resurrect) {
+            event.consume();
+            if (!awaitingSpawn.contains(character)) {
+                Vector3f deathPos = locationComponent.getWorldPosition(new Vector3f());
+                Vector3f knownSpawn = spawnIndex.get(deathPos);
+                awaitingSpawn.add(character);
+                if (knownSpawn != null) {
+                    queueTeleport(character, item, knownSpawn);
+                } else {
+                    // generating the facets takes a while, so search on the worker and resurrect once a spawn is found
+                    waitingRequests.add(new SpawnRequest(character, item, deathPos, event));
+                }
+            }
+        }
+    }
 
     @ReceiveEvent
     public void onEnterInferno(EnterInfernoEvent enterEvent, EntityRef clientEntity) {
@@ -43,4 +232,208 @@ public class InfernoAuthoritySystem extends BaseComponentSystem {
     public void onPlayerSpawn(OnPlayerSpawnedEvent event, EntityRef player, InventoryComponent inventory) {
         inventoryManager.giveItem(player, null, entityManager.create("Inferno:resurrectionIdol"), 7);
     }
+
+    /**
+     * Uses up the idol and brings the character to the spawn. Until then the character stays dead, held back in
+     * {@link #awaitingSpawn}, so further hits cannot use up another idol.
+     */
+    private void resurrect(EntityRef character, EntityRef item, Vector3f spawnPos) {
+        inventoryManager.removeItem(character, character, item, true);
+        character.send(new RestoreFullHealthEvent(character));
+        character.send(new EnterInfernoEvent(character.getOwner()));
+        character.send(new InfernoResurrectedEvent(spawnPos));
+        character.send(new CharacterTeleportEvent(spawnPos));
+    }
+
+    /**
+     * Starts loading the chunks around the spawn right away; the character is resurrected once they are ready.
+     */
+    private void queueTeleport(EntityRef character, EntityRef item, Vector3f spawnPos) {
+        RelevanceRegionComponent relevanceRegion = new RelevanceRegionComponent();
+        relevanceRegion.distance.set(SPAWN_RELEVANCE_DISTANCE);
+        // never saved with the world, so an anchor cannot outlive the queue and keep the chunks loaded
+        EntityBuilder anchorBuilder = entityManager.newBuilder();
+        anchorBuilder.addComponent(new LocationComponent(spawnPos));
+        anchorBuilder.addComponent(relevanceRegion);
+        anchorBuilder.setPersistent(false);
+        EntityRef anchor = anchorBuilder.build();
+        QueuedTeleport previous = teleportQueue.put(character, new QueuedTeleport(spawnPos, item, anchor, System.currentTimeMillis()));
+        if (previous != null) {
+            previous.anchor.destroy();
+        }
+    }
+
+    private boolean isSpawnReady(Vector3f spawnPos) {
+        BlockRegion spawnRegion = new BlockRegion((int) Math.floor(spawnPos.x), (int) Math.floor(spawnPos.y), (int) Math.floor(spawnPos.z))
+                .expand(SPAWN_READY_EXTENT);
+        return worldProvider.isRegionRelevant(spawnRegion);
+    }
+
+    private void reportTeleportWait(long waitMillis) {
+        teleportCount++;
+        totalTeleportWaitMillis += waitMillis;
+        maxTeleportWaitMillis = Math.max(maxTeleportWaitMillis, waitMillis);
+        logger.debug("Teleported to the Inferno after {} ms in the queue (average {} ms, max {} ms over {} teleports)",
+                waitMillis, totalTeleportWaitMillis / teleportCount, maxTeleportWaitMillis, teleportCount);
+    }
+
+    /**
+     * Groups the waiting deaths by position and submits one search per group.
+     */
+    private void submitSearches() {
+        List<List<SpawnRequest>> groups = new ArrayList<>();
+        for (SpawnRequest request : waitingRequests) {
+            List<SpawnRequest> nearGroup = null;
+            for (List<SpawnRequest> group : groups) {
+                Vector3f groupPos = group.get(0).deathPos;
+                if (Math.abs(request.deathPos.x - groupPos.x) <= COALESCE_DISTANCE
+                        && Math.abs(request.deathPos.z - groupPos.z) <= COALESCE_DISTANCE) {
+                    nearGroup = group;
+                    break;
+                }
+            }
+            if (nearGroup == null) {
+                nearGroup = new ArrayList<>();
+                groups.add(nearGroup);
+            }
+            nearGroup.add(request);
+        }
+        for (List<SpawnRequest> group : groups) {
+            Vector3f center = new Vector3f();
+            for (SpawnRequest request : group) {
+                center.add(request.deathPos);
+            }
+            center.div(group.size());
+            pendingSpawns.add(submitSearch(group, center, 1));
+        }
+        waitingRequests.clear();
+        waitingTime = 0;
+    }
+
+    private PendingSpawn submitSearch(List<SpawnRequest> group, Vector3f center, int attempt) {
+        return new PendingSpawn(group, center, attempt, spawnSearchExecutor.submit(() -> findInfernoSpawns(center, group.size())));
+    }
+
+    /**
+     * Resurrects every character of the group at its spawn. If the search failed for good or found no safe column,
+     * the deaths go through after all.
+     */
+    private void resolveSpawns(PendingSpawn pending, InfernoSpawnSearch.Result result) {
+        List<Vector3f> spawns = result != null ? result.getSpawns() : Collections.emptyList();
+        if (result == null) {
+            logger.warn("Gave up searching for a spawn in the Inferno near {} after {} attempts, {} character(s) die instead",
+                    pending.center, pending.attempt, pending.requests.size());
+        } else if (spawns.isEmpty()) {
+            logger.warn("No safe spawn in the Inferno near {}, {} character(s) die instead", pending.center, pending.requests.size());
+        }
+        for (int i = 0; i < pending.requests.size(); i++) {
+            SpawnRequest request = pending.requests.get(i);
+            if (!request.character.exists()) {
+                awaitingSpawn.remove(request.character);
+            } else if (spawns.isEmpty()) {
+                awaitingSpawn.remove(request.character);
+                releaseDeath(request);
+            } else {
+                queueTeleport(request.character, request.item, spawns.get(i));
+            }
+        }
+        // only the nearest spawn to the search position is the same for every later search there; the others are
+        // shifted for the group or depend on the budgets
+        if (!spawns.isEmpty() && result.isNearest()) {
+            spawnIndex.put(pending.center, spawns.get(0));
+            saveSpawnIndex();
+        }
+    }
+
+    /**
+     * Sends the death that {@link #onDeath} held back again, without the idol stepping in, and destroys the character
+     * unless another system prevents it.
+     */
+    private void releaseDeath(SpawnRequest request) {
+        BeforeDestroyEvent deathEvent = request.deathEvent;
+        releasedDeaths.add(request.character);
+        try {
+            BeforeDestroyEvent destroyCheck = new BeforeDestroyEvent(deathEvent.getInstigator(), deathEvent.getDirectCause(), deathEvent.getDamageType());
+            request.character.send(destroyCheck);
+            if (!destroyCheck.isConsumed()) {
+                request.character.send(new DestroyEvent(deathEvent.getInstigator(), deathEvent.getDirectCause(), deathEvent.getDamageType()));
+            }
+        } finally {
+            releasedDeaths.remove(request.character);
+        }
+    }
+
+    private void saveSpawnIndex() {
+        EntityRef worldEntity = worldProvider.getWorldEntity();
+        InfernoSpawnIndexComponent savedIndex = worldEntity.getComponent(InfernoSpawnIndexComponent.class);
+        if (savedIndex == null) {
+            savedIndex = new InfernoSpawnIndexComponent();
+        }
+        spawnIndex.save(savedIndex);
+        worldEntity.addOrSaveComponent(savedIndex);
+    }
+
+    private InfernoSpawnSearch.Result getSearchResult(Future<InfernoSpawnSearch.Result> search) {
+        try {
+            return search.get();
+        } catch (ExecutionException e) {
+            logger.error("Failed to find a spawn position in the Inferno", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
+
+    /**
+     * Runs on the spawn search thread. Facets of the requested regions are only generated when read, so only the
+     * surface, ceiling and lava level providers run; caves and structures are never generated.
+     */
+    private InfernoSpawnSearch.Result findInfernoSpawns(Vector3f center, int count) {
+        return spawnSearch.find(worldGenerator.getWorld(), center, count);
+    }
+
+    private static final class SpawnRequest {
+        private final EntityRef character;
+        private final EntityRef item;
+        private final Vector3f deathPos;
+        // the death held back, to send again if no spawn is found
+        private final BeforeDestroyEvent deathEvent;
+
+        SpawnRequest(EntityRef character, EntityRef item, Vector3f deathPos, BeforeDestroyEvent deathEvent) {
+            this.character = character;
+            this.item = item;
+            this.deathPos = deathPos;
+            this.deathEvent = deathEvent;
+        }
+    }
+
+    private static final class QueuedTeleport {
+        private final Vector3f target;
+        private final EntityRef item;
+        // keeps the chunks around the target relevant until the teleport
+        private final EntityRef anchor;
+        private final long queuedAt;
+
+        QueuedTeleport(Vector3f target, EntityRef item, EntityRef anchor, long queuedAt) {
+            this.target = target;
+            this.item = item;
+            this.anchor = anchor;
+            this.queuedAt = queuedAt;
+        }
+    }
+
+    private static final class PendingSpawn {
+        private final List<SpawnRequest> requests;
+        // the position searched around, the average of the death positions
+        private final Vector3f center;
+        private final int attempt;
+        private final Future<InfernoSpawnSearch.Result> search;
+
+        PendingSpawn(List<SpawnRequest> requests, Vector3f center, int attempt, Future<InfernoSpawnSearch.Result> search) {
+            this.requests = requests;
+            this.center = center;
+            this.attempt = attempt;
+            this.search = search;
+        }
+    }
 }
@@ -0,0 +1,27 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.inferno.world;
+
+import org.joml.Vector3f;
+import org.terasology.engine.network.OwnerEvent;
+import org.terasology.gestalt.entitysystem.event.Event;
+
+/**
+ * Sent by the authority to the owner of a character once its Resurrection Idol has been used and the character is
+ * about to be moved into the Inferno.
+ */
+@OwnerEvent
+public class InfernoResurrectedEvent implements Event {
+    private Vector3f spawnPosition = new Vector3f();
+
+    public InfernoResurrectedEvent() {
+    }
+
+    public InfernoResurrectedEvent(Vector3f spawnPosition) {
+        this.spawnPosition.set(spawnPosition);
+    }
+
+    public Vector3f getSpawnPosition() {
+        return spawnPosition;
+    }
+}
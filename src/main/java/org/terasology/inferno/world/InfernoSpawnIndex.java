@@ -0,0 +1,76 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.inferno.world;
+
+import org.joml.Vector3f;
+import org.joml.Vector3fc;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Remembers the Inferno spawn found for each coarse (x, z) cell of death positions, so later deaths in the same cell
+ * skip the search. Only put spawns that are the {@link InfernoSpawnSearch.Result#isNearest() nearest} qualifying
+ * column to a search position in the cell: those only depend on the world seed, so entries never go stale. The least
+ * recently used cell is dropped once the index is full.
+ * <p>
+ * The index is kept in an {@link InfernoSpawnIndexComponent} on the world entity and saved with the world.
+ */
+public class InfernoSpawnIndex {
+    public static final int CELL_SIZE = 32;
+    public static final int DEFAULT_CAPACITY = 256;
+
+    private final Map<String, Vector3f> spawnsByCell;
+
+    public InfernoSpawnIndex() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public InfernoSpawnIndex(int capacity) {
+        this.spawnsByCell = new LinkedHashMap<String, Vector3f>(capacity + 1, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Vector3f> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * @return the key of the cell containing the position
+     */
+    public static String cellKey(Vector3fc position) {
+        int cellX = Math.floorDiv((int) Math.floor(position.x()), CELL_SIZE);
+        int cellZ = Math.floorDiv((int) Math.floor(position.z()), CELL_SIZE);
+        return cellX + "," + cellZ;
+    }
+
+    /**
+     * @return a copy of the spawn found for a death in the same cell, or null if there is none yet
+     */
+    public Vector3f get(Vector3fc deathPosition) {
+        Vector3f spawn = spawnsByCell.get(cellKey(deathPosition));
+        return spawn != null ? new Vector3f(spawn) : null;
+    }
+
+    public void put(Vector3fc deathPosition, Vector3fc spawn) {
+        spawnsByCell.put(cellKey(deathPosition), new Vector3f(spawn));
+    }
+
+    public int size() {
+        return spawnsByCell.size();
+    }
+
+    public void load(InfernoSpawnIndexComponent component) {
+        spawnsByCell.clear();
+        for (Map.Entry<String, Vector3f> entry : component.spawnsByCell.entrySet()) {
+            spawnsByCell.put(entry.getKey(), new Vector3f(entry.getValue()));
+        }
+    }
+
+    public void save(InfernoSpawnIndexComponent component) {
+        component.spawnsByCell = new LinkedHashMap<>();
+        for (Map.Entry<String, Vector3f> entry : spawnsByCell.entrySet()) {
+            component.spawnsByCell.put(entry.getKey(), new Vector3f(entry.getValue()));
+        }
+    }
+}
@@ -0,0 +1,25 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.inferno.world;
+
+import org.joml.Vector3f;
+import org.terasology.gestalt.entitysystem.component.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Saved on the world entity: the Inferno spawn found for each coarse cell, keyed by {@link InfernoSpawnIndex#cellKey},
+ * least recently used first.
+ */
+public class InfernoSpawnIndexComponent implements Component<InfernoSpawnIndexComponent> {
+    public Map<String, Vector3f> spawnsByCell = new LinkedHashMap<>();
+
+    @Override
+    public void copyFrom(InfernoSpawnIndexComponent other) {
+        this.spawnsByCell = new LinkedHashMap<>();
+        for (Map.Entry<String, Vector3f> entry : other.spawnsByCell.entrySet()) {
+            this.spawnsByCell.put(entry.getKey(), new Vector3f(entry.getValue()));
+        }
+    }
+}
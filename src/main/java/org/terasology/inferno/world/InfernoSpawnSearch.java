@@ -0,0 +1,224 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.inferno.world;
+
+import com.google.common.base.Preconditions;
+import org.joml.Vector3f;
+import org.joml.Vector3fc;
+import org.terasology.engine.world.block.BlockRegion;
+import org.terasology.engine.world.generation.Region;
+import org.terasology.engine.world.generation.World;
+import org.terasology.inferno.generator.facets.InfernoCeilingHeightFacet;
+import org.terasology.inferno.generator.facets.InfernoSurfaceHeightFacet;
+import org.terasology.inferno.generator.facets.LavaLevelFacet;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.terasology.inferno.generator.InfernoZonePlugin.INFERNO_DEPTH;
+
+/**
+ * Finds the Inferno column nearest to a position where a player can stand: ground above the lava with room below the
+ * ceiling.
+ * <p>
+ * Columns are checked in square rings growing outwards from the position, so the first rings usually settle the
+ * search. The facets are requested for a square that widens in steps. Once a column qualifies, the search also stops
+ * when a column or time budget runs out, or when requesting the next square would overrun the time budget. Until then
+ * it keeps widening up to the maximum radius, since no other column is safe to spawn in.
+ */
+public class InfernoSpawnSearch {
+    public static final int DEFAULT_INITIAL_RADIUS = 16;
+    public static final int DEFAULT_MAX_RADIUS = 256;
+    public static final int DEFAULT_COLUMN_BUDGET = 1 << 18;
+    public static final long DEFAULT_TIME_BUDGET_MILLIS = 50;
+    /**
+     * Spawns found together are at least this far apart along x or z.
+     */
+    public static final int MIN_SPAWN_SPACING = 2;
+
+    private final int initialRadius;
+    private final int maxRadius;
+    private final int columnBudget;
+    private final long timeBudgetNanos;
+
+    public InfernoSpawnSearch() {
+        this(DEFAULT_INITIAL_RADIUS, DEFAULT_MAX_RADIUS, DEFAULT_COLUMN_BUDGET, DEFAULT_TIME_BUDGET_MILLIS);
+    }
+
+    /**
+     * @param initialRadius    half the width of the first square of facets requested; each step doubles it
+     * @param maxRadius        the furthest a spawn can be from the position along x or z
+     * @param columnBudget     the most columns to check once a column qualifies
+     * @param timeBudgetMillis the longest to keep widening the search once a column qualifies
+     */
+    public InfernoSpawnSearch(int initialRadius, int maxRadius, int columnBudget, long timeBudgetMillis) {
+        Preconditions.checkArgument(initialRadius > 0, "initialRadius must be positive: %s", initialRadius);
+        Preconditions.checkArgument(maxRadius >= initialRadius, "maxRadius must be at least initialRadius: %s", maxRadius);
+        Preconditions.checkArgument(columnBudget > 0, "columnBudget must be positive: %s", columnBudget);
+        Preconditions.checkArgument(timeBudgetMillis >= 0, "timeBudgetMillis must not be negative: %s", timeBudgetMillis);
+        this.initialRadius = initialRadius;
+        this.maxRadius = maxRadius;
+        this.columnBudget = columnBudget;
+        this.timeBudgetNanos = timeBudgetMillis * 1_000_000;
+    }
+
+    /**
+     * @return the position to spawn at, on top of the ground of the chosen column; null if no column within the
+     *         maximum radius qualifies, or if the world produces no Inferno facets at all
+     */
+    public Vector3f find(World world, Vector3fc position) {
+        List<Vector3f> spawns = find(world, position, 1).getSpawns();
+        return spawns.isEmpty() ? null : spawns.get(0);
+    }
+
+    /**
+     * Finds spawns for several characters around the same position with one search. The spawns are the nearest
+     * columns that keep {@link #MIN_SPAWN_SPACING} from each other; if there are not enough of them, spawns are
+     * shared.
+     *
+     * @return count spawn positions, nearest first; none if no column within the maximum radius qualifies, or if the
+     *         world produces no Inferno facets at all
+     */
+    public Result find(World world, Vector3fc position, int count) {
+        long deadline = System.nanoTime() + timeBudgetNanos;
+        int centerX = (int) Math.floor(position.x());
+        int centerZ = (int) Math.floor(position.z());
+        // with several spawns, look at a few more columns than needed so spacing them out still picks near ones
+        int wanted = count == 1 ? 1 : count * (2 * MIN_SPAWN_SPACING - 1) * (2 * MIN_SPAWN_SPACING - 1);
+        List<Candidate> qualifying = new ArrayList<>();
+        int checked = 0;
+        int nextRing = 0;
+        boolean cutShort = false;
+
+        search:
+        for (int radius = initialRadius; ; radius = Math.min(2 * radius, maxRadius)) {
+            long requestStart = System.nanoTime();
+            Region region = world.getWorldData(new BlockRegion(centerX, -INFERNO_DEPTH, centerZ).expand(radius, 0, radius));
+            InfernoSurfaceHeightFacet surfaceHeightFacet = region.getFacet(InfernoSurfaceHeightFacet.class);
+            InfernoCeilingHeightFacet ceilingHeightFacet = region.getFacet(InfernoCeilingHeightFacet.class);
+            LavaLevelFacet lavaLevelFacet = region.getFacet(LavaLevelFacet.class);
+            if (surfaceHeightFacet == null || ceilingHeightFacet == null || lavaLevelFacet == null) {
+                return new Result(Collections.emptyList(), false);
+            }
+            int lavaLevel = lavaLevelFacet.getLavaLevel();
+            long requestNanos = System.nanoTime() - requestStart;
+
+            for (; nextRing <= radius; nextRing++) {
+                int ring = nextRing;
+                for (int dz = -ring; dz <= ring; dz++) {
+                    int step = (dz == -ring || dz == ring) ? 1 : 2 * ring;
+                    for (int dx = -ring; dx <= ring; dx += step) {
+                        int x = centerX + dx;
+                        int z = centerZ + dz;
+                        float surfaceHeight = surfaceHeightFacet.getWorld(x, z);
+                        float ceilingHeight = ceilingHeightFacet.getWorld(x, z);
+                        if (surfaceHeight < ceilingHeight - 1 && surfaceHeight > lavaLevel) {
+                            qualifying.add(new Candidate(x, surfaceHeight, z, dx * dx + dz * dz));
+                        }
+                        checked++;
+                    }
+                }
+                // every column beyond this ring is at least ring + 1 away
+                long reach = ring + 1;
+                if (qualifying.size() >= wanted) {
+                    qualifying.sort(Comparator.comparingInt(candidate -> candidate.distanceSq));
+                    if (qualifying.get(wanted - 1).distanceSq <= reach * reach) {
+                        break search;
+                    }
+                }
+                if (!qualifying.isEmpty() && (checked >= columnBudget || System.nanoTime() > deadline)) {
+                    cutShort = true;
+                    break search;
+                }
+            }
+            if (radius == maxRadius) {
+                break;
+            }
+            // the next square covers about four times the columns, and requesting it alone can overrun the budget
+            int nextRadius = Math.min(2 * radius, maxRadius);
+            long nextRequestNanos = requestNanos * square(2 * nextRadius + 1) / square(2 * radius + 1);
+            if (!qualifying.isEmpty() && System.nanoTime() + nextRequestNanos > deadline) {
+                cutShort = true;
+                break;
+            }
+        }
+
+        qualifying.sort(Comparator.comparingInt(candidate -> candidate.distanceSq));
+        List<Candidate> picked = new ArrayList<>(count);
+        for (Candidate candidate : qualifying) {
+            if (picked.size() == count) {
+                break;
+            }
+            if (isSpacedOut(candidate, picked)) {
+                picked.add(candidate);
+            }
+        }
+        if (picked.isEmpty()) {
+            return new Result(Collections.emptyList(), false);
+        }
+        List<Vector3f> spawns = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            spawns.add(spawnPosition(picked.get(i % picked.size())));
+        }
+        return new Result(spawns, !cutShort);
+    }
+
+    private static long square(long value) {
+        return value * value;
+    }
+
+    private static boolean isSpacedOut(Candidate candidate, List<Candidate> picked) {
+        for (Candidate other : picked) {
+            if (Math.abs(candidate.x - other.x) < MIN_SPAWN_SPACING && Math.abs(candidate.z - other.z) < MIN_SPAWN_SPACING) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Vector3f spawnPosition(Candidate candidate) {
+        return new Vector3f(candidate.x, candidate.height + 1, candidate.z);
+    }
+
+    /**
+     * The spawns found by one search.
+     */
+    public static final class Result {
+        private final List<Vector3f> spawns;
+        private final boolean nearest;
+
+        Result(List<Vector3f> spawns, boolean nearest) {
+            this.spawns = spawns;
+            this.nearest = nearest;
+        }
+
+        public List<Vector3f> getSpawns() {
+            return spawns;
+        }
+
+        /**
+         * @return whether the first spawn is the qualifying column nearest to the search position, within the maximum
+         *         radius. Such a spawn only depends on the world seed and the position, while one found before a
+         *         budget ran out also depends on how fast the facets were generated.
+         */
+        public boolean isNearest() {
+            return nearest;
+        }
+    }
+
+    private static final class Candidate {
+        private final int x;
+        private final float height;
+        private final int z;
+        private final int distanceSq;
+
+        Candidate(int x, float height, int z, int distanceSq) {
+            this.x = x;
+            this.height = height;
+            this.z = z;
+            this.distanceSq = distanceSq;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.inferno.benchmark;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+/**
+ * Providers and rasterizers are shared by all generator threads, so chunks generated concurrently must equal the same
+ * chunks generated one after the other.
+ */
+public class ConcurrentGenerationHarnessTest {
+    private static final int COLUMNS = 3;
+    private static final int THREADS = 4;
+    private static final int ROUNDS = 3;
+
+    @Test
+    public void concurrentChunksEqualSerialChunks() throws InterruptedException, ExecutionException {
+        ConcurrentGenerationHarness harness = new ConcurrentGenerationHarness(COLUMNS);
+        long[] serial = harness.generateAll(1);
+        for (int round = 0; round < ROUNDS; round++) {
+            assertArrayEquals(serial, harness.generateAll(THREADS), "chunk hashes of round " + round + " on " + THREADS + " threads");
+        }
+    }
+}
@@ -0,0 +1,95 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.inferno.generator.facets;
+
+import org.joml.Vector3i;
+import org.joml.Vector3ic;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.terasology.engine.world.block.BlockRegion;
+import org.terasology.engine.world.generation.Border3D;
+import org.terasology.inferno.generator.structures.InfernalTree;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The spatial index of {@link InfernalTreeFacet} has to give the same answers as comparing against every tree: the ring
+ * search must not stop at the first ring with a tree while a closer one can still lie in the next ring, and queries
+ * from outside the grid must still reach the trees inside it.
+ */
+public class InfernalTreeFacetTest {
+    private static final InfernalTree TREE = new InfernalTree(InfernalTree.MIN_TRUNK_HEIGHT, new int[0]);
+
+    // 4 by 4 cells of InfernalTreeFacet.CELL_SIZE
+    private InfernalTreeFacet facet;
+
+    @BeforeEach
+    public void setUp() {
+        facet = new InfernalTreeFacet(new BlockRegion(0, 0, 0).setSize(64, 16, 64), new Border3D(0, 0, 0));
+    }
+
+    @Test
+    public void noOtherTree() {
+        Vector3ic pos = new Vector3i(8, 0, 8);
+        assertEquals(-1, facet.getDistanceToNearestTree(pos));
+
+        facet.addTree(pos, TREE);
+        assertEquals(-1, facet.getDistanceToNearestTree(pos));
+    }
+
+    @Test
+    public void nearestTreeInSameCell() {
+        addTrees(new Vector3i(8, 0, 8), new Vector3i(11, 4, 8), new Vector3i(40, 0, 8));
+
+        assertEquals(5, facet.getDistanceToNearestTree(new Vector3i(8, 0, 8)), 1e-9);
+    }
+
+    @Test
+    public void nearestTreeInFartherRingThanFirstFound() {
+        // the diagonal tree is found in ring 1 but is about 32.5 away, more than ring 1 rules out, so ring 2 is
+        // searched as well and holds a tree 32 away
+        addTrees(new Vector3i(31, 0, 31), new Vector3i(40, 0, 8), new Vector3i(63, 0, 8));
+
+        assertEquals(32, facet.getDistanceToNearestTree(new Vector3i(8, 0, 8)), 1e-9);
+    }
+
+    @Test
+    public void nearestTreeFromOutsideGrid() {
+        addTrees(new Vector3i(0, 0, 8), new Vector3i(63, 0, 63));
+
+        assertEquals(40, facet.getDistanceToNearestTree(new Vector3i(-40, 0, 8)), 1e-9);
+        assertEquals(50, facet.getDistanceToNearestTree(new Vector3i(93, 0, 103)), 1e-9);
+    }
+
+    @Test
+    public void treesWithinRadius() {
+        Vector3ic pos = new Vector3i(20, 0, 20);
+        Vector3ic self = new Vector3i(pos);
+        Vector3ic onRadius = new Vector3i(20, 0, 30);
+        Vector3ic otherCell = new Vector3i(14, 0, 12);
+        addTrees(self, onRadius, otherCell, new Vector3i(20, 0, 31), new Vector3i(28, 0, 28));
+
+        List<Vector3ic> trees = facet.getTreesWithin(pos, 10);
+
+        assertEquals(3, trees.size());
+        assertTrue(trees.containsAll(List.of(self, onRadius, otherCell)));
+    }
+
+    @Test
+    public void treesWithinRadiusFromOutsideGrid() {
+        Vector3ic inside = new Vector3i(0, 0, 8);
+        addTrees(inside, new Vector3i(30, 0, 8));
+
+        assertEquals(List.of(inside), facet.getTreesWithin(new Vector3i(-10, 0, 8), 10));
+        assertTrue(facet.getTreesWithin(new Vector3i(-100, 0, 8), 10).isEmpty());
+    }
+
+    private void addTrees(Vector3ic... positions) {
+        for (Vector3ic pos : positions) {
+            facet.addTree(pos, TREE);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.inferno.generator.providers;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.terasology.engine.utilities.procedural.PerlinNoise;
+import org.terasology.engine.utilities.random.FastRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * {@link FastRidgedNoise} has to reproduce {@link CaveFacetProvider.RidgedNoise} bit for bit, one position at a time
+ * and in batch.
+ */
+public class FastRidgedNoiseTest {
+    private static final long SEED = 0xDEADBEEFL;
+    private static final int SAMPLES = 2000;
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 9})
+    public void matchesRidgedNoiseBitForBit(int octaves) {
+        PerlinNoise base = new PerlinNoise(SEED);
+        CaveFacetProvider.RidgedNoise reference = new CaveFacetProvider.RidgedNoise(base, octaves);
+        FastRidgedNoise fast = new FastRidgedNoise(base, octaves);
+
+        // cave coordinates are scaled by 0.06/0.09 before they reach the ridged noise
+        FastRandom random = new FastRandom(SEED);
+        float[] xs = new float[SAMPLES];
+        float[] ys = new float[SAMPLES];
+        float[] zs = new float[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            xs[i] = random.nextFloat(-6000f, 6000f);
+            ys[i] = random.nextFloat(-9000f, -8990f);
+            zs[i] = random.nextFloat(-6000f, 6000f);
+        }
+        float[] batch = new float[SAMPLES];
+        fast.noise(xs, ys, zs, batch);
+
+        for (int i = 0; i < SAMPLES; i++) {
+            int expected = Float.floatToIntBits(reference.noise(xs[i], ys[i], zs[i]));
+            assertEquals(expected, Float.floatToIntBits(fast.noise(xs[i], ys[i], zs[i])), "single sample " + i);
+            assertEquals(expected, Float.floatToIntBits(batch[i]), "batch sample " + i);
+        }
+    }
+}
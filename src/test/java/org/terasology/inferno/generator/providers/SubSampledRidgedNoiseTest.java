@@ -0,0 +1,48 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.inferno.generator.providers;
+
+import org.joml.Vector3f;
+import org.junit.jupiter.api.Test;
+import org.terasology.engine.utilities.procedural.PerlinNoise;
+import org.terasology.engine.utilities.procedural.SubSampledNoise;
+import org.terasology.engine.world.block.BlockRegion;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * {@link SubSampledRidgedNoise} replaces {@code SubSampledNoise} for the caves, so both have to agree on every position,
+ * including regions that do not start on a key point and regions at negative coordinates.
+ */
+public class SubSampledRidgedNoiseTest {
+    private static final float TOLERANCE = 1e-5f;
+
+    private final FastRidgedNoise ridgedNoise = new FastRidgedNoise(new PerlinNoise(0xDEADBEEFL), 2);
+    private final Vector3f zoom = new Vector3f(0.06f, 0.09f, 0.06f);
+    private final SubSampledNoise expectedNoise = new SubSampledNoise(ridgedNoise, zoom, 4);
+    private final SubSampledRidgedNoise noise = new SubSampledRidgedNoise(ridgedNoise, zoom, 4);
+
+    @Test
+    public void matchesSubSampledNoiseOnAlignedChunk() {
+        assertMatches(new BlockRegion(0, -100032, 0).setSize(32, 64, 32));
+    }
+
+    @Test
+    public void matchesSubSampledNoiseOnUnalignedRegion() {
+        assertMatches(new BlockRegion(-37, -100003, 13).setSize(19, 23, 7));
+    }
+
+    @Test
+    public void matchesSubSampledNoiseOnSingleBlock() {
+        assertMatches(new BlockRegion(-1, -1, -1));
+    }
+
+    private void assertMatches(BlockRegion region) {
+        float[] expected = expectedNoise.noise(region);
+        float[] actual = noise.noise(region);
+        assertEquals(expected.length, actual.length);
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], actual[i], TOLERANCE, "index " + i + " of " + region);
+        }
+    }
+}